@@ -3,6 +3,8 @@ package omgplatform.server.config;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import omgplatform.server.utils.JWTFilter;
+import omgplatform.server.utils.RateLimitFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -16,6 +18,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Spring Security configuration for the OMG Platform server.
@@ -28,7 +31,7 @@ import java.util.List;
  * 
  * @authors Clement Luo,
  * @date April 15, 2025
- * @edited July 14, 2025
+ * @edited October 16, 2026
  * @since 1.0
  */
 @Configuration
@@ -38,6 +41,11 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JWTFilter jwtFilter;
+    private final RateLimitFilter rateLimitFilter;
+
+    // BCrypt cost factor (log2 of the number of rounds)
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
 
     /**
      * Creates and configures the BCrypt password encoder bean.
@@ -47,12 +55,15 @@ public class SecurityConfig {
      * - Is computationally intensive, making brute force attacks harder
      * - Is the recommended password hashing algorithm for Spring Security
      *
+     * The cost factor is configurable; existing hashes keep the cost they
+     * were created with.
+     *
      * @return BCryptPasswordEncoder configured for password hashing
      */
     @Bean
     public BCryptPasswordEncoder passwordEncoder() {
-        log.info("Initializing BCrypt password encoder");
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        log.info("Initializing BCrypt password encoder", Map.of("strength", bcryptStrength));
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(bcryptStrength);
         log.info("BCrypt password encoder initialized successfully");
         return encoder;
     }
@@ -65,9 +76,12 @@ public class SecurityConfig {
      * - CORS configuration for cross-origin requests
      * - URL-based authorization rules
      * - JWT filter integration
+     * - Rate limiting of login and registration ahead of the JWT filter
      * 
      * Authorization rules:
      * - /users/register and /users/login: Public access for authentication
+     * - /users/available: Public username availability check
+     * - /users/admin/**: Requires ROLE_ADMIN (users listed in users.admin.usernames)
      * - /users/**: Requires authentication for user management
      * - /api/**: Requires authentication for API endpoints
      * - All other requests: Permitted (for development flexibility)
@@ -90,6 +104,9 @@ public class SecurityConfig {
                     // Public endpoints - no authentication required
                     .requestMatchers("/users/register").permitAll() // User registration endpoint
                     .requestMatchers("/users/login").permitAll() // User login endpoint
+                    .requestMatchers("/users/available").permitAll() // Username availability check
+                    // Admin endpoints - bulk import, export and delete
+                    .requestMatchers("/users/admin/**").hasRole("ADMIN")
                     // Protected endpoints - require valid JWT token
                     .requestMatchers("/users/**").authenticated() // All other user management endpoints
                     .requestMatchers("/api/**").authenticated() // All API endpoints
@@ -97,7 +114,9 @@ public class SecurityConfig {
                     .anyRequest().permitAll() // Allow other requests (for development)
                 )
                 // Add JWT filter before the default username/password authentication filter
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                // Rate limit login and registration before any authentication work
+                .addFilterBefore(rateLimitFilter, JWTFilter.class);
 
             log.info("Security filter chain configured successfully (production mode)");
             return http.build();
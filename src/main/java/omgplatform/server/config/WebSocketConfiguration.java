@@ -3,10 +3,18 @@ package omgplatform.server.config;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import omgplatform.server.controllers.WebSocketHandler;
+import omgplatform.server.utils.WebSocketAuthInterceptor;
+import omgplatform.server.utils.WebSocketCodec;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.web.socket.WebSocketExtension;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.List;
 
 /**
  * WebSocket configuration for the OMG Platform server.
@@ -14,6 +22,8 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
  * This class configures:
  * - WebSocket endpoint registration
  * - Cross-origin access for WebSocket connections
+ * - Token authentication during the handshake
+ * - Standard per-message compression (permessage-deflate, RFC 7692)
  * - Real-time communication capabilities
  * 
  * The WebSocket endpoint enables:
@@ -23,7 +33,7 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
  * 
  * @authors Clement Luo,
  * @date April 15, 2025
- * @edited July 14, 2025
+ * @edited October 16, 2026
  * @since 1.0
  */
 @Configuration
@@ -32,7 +42,12 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
 @Slf4j
 public class WebSocketConfiguration implements WebSocketConfigurer {
 
+    // Whether clients may negotiate permessage-deflate with the container (opt-in)
+    @Value("${websocket.permessage-deflate.enabled:false}")
+    private boolean permessageDeflateEnabled;
+
     private final WebSocketHandler webSocketHandler;
+    private final WebSocketAuthInterceptor authInterceptor;
 
     /**
      * Registers WebSocket handlers and configures endpoint mappings.
@@ -41,6 +56,9 @@ public class WebSocketConfiguration implements WebSocketConfigurer {
      * - WebSocket endpoint at /websocket for real-time communication
      * - Cross-origin access to allow connections from any origin
      * - Handler registration for processing WebSocket messages
+     * - Handshake authentication from a token in the query or subprotocol header
+     * - Extension negotiation, offering the container's permessage-deflate
+     *   to clients that request it when enabled
      * 
      * The /websocket endpoint is used for:
      * - Real-time messaging
@@ -60,15 +78,46 @@ public class WebSocketConfiguration implements WebSocketConfigurer {
             // Register WebSocket handler for the websocket endpoint
             // This enables real-time bidirectional communication
             registry.addHandler(webSocketHandler, "/websocket")
+                // Authenticate from the token before the connection opens
+                .addInterceptors(authInterceptor)
+                // Negotiate permessage-deflate (implemented by the servlet container)
+                .setHandshakeHandler(handshakeHandler())
                 // Allow connections from any origin (development setting)
                 // In production, specify exact origins for security
                 .setAllowedOrigins("*");
             
             log.info("WebSocket handler registered successfully for endpoint: /websocket");
             log.info("WebSocket configuration: All origins allowed for /websocket endpoint");
+            log.info("WebSocket configuration: permessage-deflate " + (permessageDeflateEnabled ? "enabled" : "disabled"));
         } catch (Exception e) {
             log.error("Failed to register WebSocket handlers", e);
             throw e;
         }
     }
+
+    /**
+     * Create the handshake handler.
+     *
+     * Extensions are negotiated from those the container installs (Tomcat
+     * implements permessage-deflate). Unless websocket.permessage-deflate.enabled
+     * is set, it is removed from the client's offer so existing connections
+     * stay uncompressed. The container compresses every frame with its own
+     * settings; websocket.compression.min-size, level and context-takeover
+     * do not apply to it.
+     *
+     * @return The handshake handler
+     */
+    private DefaultHandshakeHandler handshakeHandler() {
+        return new DefaultHandshakeHandler() {
+            @Override
+            protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request,
+                                                                         List<WebSocketExtension> requested,
+                                                                         List<WebSocketExtension> supported) {
+                List<WebSocketExtension> offered = permessageDeflateEnabled
+                        ? requested
+                        : requested.stream().filter(e -> !WebSocketCodec.PERMESSAGE_DEFLATE.equals(e.getName())).toList();
+                return super.filterRequestedExtensions(request, offered, supported);
+            }
+        };
+    }
 }
@@ -0,0 +1,63 @@
+package omgplatform.server.controllers;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.PresencePage;
+import omgplatform.server.services.PresenceService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Serves the list of online users, for clients that need the full roster
+ * before applying presence deltas.
+ * URL: /api/presence
+ *
+ * Presence is per node: this lists the users connected to the node that
+ * serves the request, the same roster its PRESENCE deltas describe.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("api/presence")
+@RequiredArgsConstructor
+@Slf4j
+public class PresenceController {
+
+    @Value("${presence.default-page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${presence.max-page-size:1000}")
+    private int maxPageSize;
+
+    // Services
+    private final PresenceService presenceService;
+
+    //ROUTES
+
+    /**
+     * Gets a page of online users, ordered by user id
+     * URL: /?after=&limit=
+     *
+     * @param after the nextAfter value of the previous page (omitted for the first page)
+     * @param limit the page size
+     * @return the users, the total online and the value to pass as after for the next page
+     */
+    @GetMapping
+    public ResponseEntity<PresencePage> getOnline(@RequestParam(defaultValue = "0") long after,
+                                                  @RequestParam(required = false) Integer limit) {
+        log.debug("API Request: GET /api/presence");
+
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(presenceService.getSnapshot(after, pageSize));
+    }
+}
@@ -0,0 +1,116 @@
+package omgplatform.server.controllers;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.controllers.messages.MessageDispatcher;
+import omgplatform.server.services.ChatHistoryService;
+import omgplatform.server.services.ClusterBus;
+import omgplatform.server.services.FanoutService;
+import omgplatform.server.services.LastLoginService;
+import omgplatform.server.services.PasswordHashingService;
+import omgplatform.server.services.PresenceService;
+import omgplatform.server.services.ReplayService;
+import omgplatform.server.services.UserCacheService;
+import omgplatform.server.services.UserLookupService;
+import omgplatform.server.services.UsernameFilterService;
+import omgplatform.server.services.WebSocketOutboundService;
+import omgplatform.server.services.WebSocketSessionService;
+import omgplatform.server.utils.RateLimitFilter;
+import omgplatform.server.utils.VerifiedTokenCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes runtime counters for monitoring.
+ * URL: /api/stats
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("api/stats")
+@RequiredArgsConstructor
+@Slf4j
+public class StatsController {
+
+    // Components
+    private final WebSocketSessionService sessionService;
+    private final MessageDispatcher dispatcher;
+    private final FanoutService fanoutService;
+    private final WebSocketOutboundService outboundService;
+    private final ClusterBus clusterBus;
+    private final VerifiedTokenCache tokenCache;
+    private final PasswordHashingService passwordHashingService;
+    private final RateLimitFilter rateLimitFilter;
+    private final UserLookupService userLookupService;
+    private final UserCacheService userCache;
+    private final UsernameFilterService usernameFilter;
+    private final LastLoginService lastLoginService;
+    private final ChatHistoryService chatHistoryService;
+    private final ReplayService replayService;
+    private final PresenceService presenceService;
+
+    //ROUTES
+
+    /**
+     * Gets WebSocket counters
+     * URL: /websocket
+     *
+     * @return the WebSocket counters keyed by name
+     */
+    @GetMapping("websocket")
+    public Map<String, Object> getWebSocketStats() {
+        log.debug("API Request: GET /api/stats/websocket");
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("broadcast", sessionService.getBroadcastStats());
+        stats.put("dispatch", dispatcher.getStats());
+        stats.put("fanout", fanoutService.getStats());
+        stats.put("compression", outboundService.getCompressionStats());
+        stats.put("cluster", clusterBus.getStats());
+        stats.put("chatHistory", chatHistoryService.getStats());
+        stats.put("replay", replayService.getStats());
+        stats.put("presence", presenceService.getStats());
+        return stats;
+    }
+
+    /**
+     * Gets authentication counters
+     * URL: /auth
+     *
+     * @return the authentication counters keyed by name
+     */
+    @GetMapping("auth")
+    public Map<String, Object> getAuthStats() {
+        log.debug("API Request: GET /api/stats/auth");
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("tokenCache", tokenCache.getStats());
+        stats.put("passwordHashing", passwordHashingService.getStats());
+        stats.put("rateLimit", rateLimitFilter.getStats());
+        return stats;
+    }
+
+    /**
+     * Gets user lookup counters
+     * URL: /users
+     *
+     * @return the user cache and lookup counters keyed by name
+     */
+    @GetMapping("users")
+    public Map<String, Object> getUserStats() {
+        log.debug("API Request: GET /api/stats/users");
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cache", userCache.getStats());
+        stats.put("lookup", userLookupService.getStats());
+        stats.put("usernameFilter", usernameFilter.getStats());
+        stats.put("lastLogin", lastLoginService.getStats());
+        return stats;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,176 @@
+package omgplatform.server.controllers;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.BulkRegisterResult;
+import omgplatform.server.dto.DeleteUsersRequest;
+import omgplatform.server.dto.ImportResult;
+import omgplatform.server.dto.RegisterRequest;
+import omgplatform.server.services.UserService;
+import omgplatform.server.services.UserTransferService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Contains bulk user administration routes.
+ * URL: /users/admin
+ *
+ * Bulk registration lives here rather than under /users/register because
+ * it can create thousands of accounts and keep the hashing pool busy.
+ *
+ * Only registered when users.admin.enabled is true, and only callable by
+ * the users listed in users.admin.usernames (see SecurityConfig).
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("users/admin")
+@ConditionalOnProperty(name = "users.admin.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class UserAdminController {
+
+    // Services
+    private final UserTransferService userTransferService;
+    private final UserService userService;
+
+    // Most rows accepted by one bulk registration
+    @Value("${users.bulk.max-rows:5000}")
+    private int bulkMaxRows;
+
+    //ROUTES
+
+    /**
+     * Add many users at once
+     * URL: /register
+     *
+     * Passwords are hashed on the shared hashing pool, limited to
+     * security.hashing.bulk-threads at a time so logins keep a share of it.
+     *
+     * @param requests the accounts to register
+     * @return a result for each account, in request order
+     */
+    @PostMapping("register")
+    public ResponseEntity<List<BulkRegisterResult>> bulkRegister(@RequestBody List<RegisterRequest> requests) {
+        String requestId = UUID.randomUUID().toString();
+        log.info("API Request: POST /users/admin/register, Request ID: {}", requestId);
+
+        if (requests.isEmpty() || requests.size() > bulkMaxRows) {
+            log.info("API Response: POST /users/admin/register, Status: 400, Request ID: {}", requestId);
+            return ResponseEntity.badRequest().build();
+        }
+
+        long startTime = System.currentTimeMillis();
+        List<BulkRegisterResult> results = userService.bulkRegister(requests);
+
+        long responseTime = System.currentTimeMillis() - startTime;
+        log.info("API Response: POST /users/admin/register, Status: 200, Request ID: {}, Response Time: {}ms", requestId, responseTime);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Import users from a CSV or NDJSON upload
+     * URL: /import?format=csv|ndjson&onConflict=skip|update
+     *
+     * @param body the upload, streamed into the database
+     * @return counts of the rows read, inserted, updated and skipped
+     */
+    @PostMapping("import")
+    public ResponseEntity<ImportResult> importUsers(@RequestParam(defaultValue = "csv") String format,
+                                                    @RequestParam(defaultValue = "skip") String onConflict,
+                                                    InputStream body) {
+        String requestId = UUID.randomUUID().toString();
+        log.info("API Request: POST /users/admin/import, Request ID: {}", requestId);
+
+        UserTransferService.Format parsedFormat = parse(UserTransferService.Format.class, format);
+        UserTransferService.ConflictMode conflictMode = parse(UserTransferService.ConflictMode.class, onConflict);
+        if (parsedFormat == null || conflictMode == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        long startTime = System.currentTimeMillis();
+        try {
+            ImportResult result = userTransferService.importUsers(body, parsedFormat, conflictMode);
+
+            long responseTime = System.currentTimeMillis() - startTime;
+            log.info("API Response: POST /users/admin/import, Status: 200, Request ID: {}, Response Time: {}ms", requestId, responseTime);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            long responseTime = System.currentTimeMillis() - startTime;
+            log.info("API Response: POST /users/admin/import, Status: 400, Request ID: {}, Response Time: {}ms", requestId, responseTime);
+            log.warn("User import rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Export every user as CSV or NDJSON, without password hashes
+     * URL: /export?format=csv|ndjson
+     *
+     * @param response the response the export is streamed into
+     */
+    @GetMapping("export")
+    public void exportUsers(@RequestParam(defaultValue = "csv") String format, HttpServletResponse response) throws IOException {
+        String requestId = UUID.randomUUID().toString();
+        log.info("API Request: GET /users/admin/export, Request ID: {}", requestId);
+
+        UserTransferService.Format parsedFormat = parse(UserTransferService.Format.class, format);
+        if (parsedFormat == null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        boolean csv = parsedFormat == UserTransferService.Format.CSV;
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"users." + (csv ? "csv" : "ndjson") + "\"");
+
+        userTransferService.exportUsers(parsedFormat, response.getOutputStream());
+
+        long responseTime = System.currentTimeMillis() - startTime;
+        log.info("API Response: GET /users/admin/export, Status: 200, Request ID: {}, Response Time: {}ms", requestId, responseTime);
+    }
+
+    /**
+     * Delete users by id list and/or cut-off times
+     * URL: /delete
+     *
+     * @param request the criteria every deleted user must match
+     * @return the number of users deleted
+     */
+    @PostMapping("delete")
+    public ResponseEntity<Map<String, Integer>> deleteUsers(@RequestBody DeleteUsersRequest request) {
+        String requestId = UUID.randomUUID().toString();
+        log.info("API Request: POST /users/admin/delete, Request ID: {}", requestId);
+
+        try {
+            int deleted = userTransferService.deleteUsers(request);
+            log.info("API Response: POST /users/admin/delete, Status: 200, Request ID: {}", requestId);
+            return ResponseEntity.ok(Map.of("deleted", deleted));
+        } catch (IllegalArgumentException e) {
+            log.info("API Response: POST /users/admin/delete, Status: 400, Request ID: {}", requestId);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
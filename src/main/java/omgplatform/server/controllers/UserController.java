@@ -1,20 +1,29 @@
 package omgplatform.server.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.AvailabilityResponse;
 import omgplatform.server.dto.LoginRequest;
 import omgplatform.server.dto.LoginResponse;
 import omgplatform.server.dto.RegisterRequest;
 import omgplatform.server.dto.RegisterResponse;
+import omgplatform.server.dto.UserPage;
 import omgplatform.server.entities.User;
+import omgplatform.server.services.PasswordHashingService;
 import omgplatform.server.services.UserService;
 import omgplatform.server.utils.JWTUtil;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Map;
 import java.util.UUID;
 
@@ -24,7 +33,7 @@ import java.util.UUID;
  *
  * @authors Clement Luo,
  * @date April 15, 2025
- * @edited June 29, 2025
+ * @edited October 16, 2026
  * @since 1.0
  */
 @RestController
@@ -36,6 +45,14 @@ public class UserController {
     // Services
     private final UserService userService;
     private final JWTUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+
+    // Page sizes for /users/page
+    @Value("${users.listing.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${users.listing.max-page-size:500}")
+    private int maxPageSize;
 
     //ROUTES
 
@@ -43,20 +60,33 @@ public class UserController {
      * Gets all the users
      * URL: /getusers
      *
-     * @return a list of all the users
+     * The JSON array is written as rows are read from a database cursor,
+     * so memory use does not grow with the number of users.
+     *
+     * @param response the response the array is streamed into
      */
     @GetMapping("getusers")
-    public List<User> getUsers() {
+    public void getUsers(HttpServletResponse response) throws IOException {
         String requestId = UUID.randomUUID().toString();
         log.info("API Request: GET /users/getusers, Request ID: {}", requestId);
         
         long startTime = System.currentTimeMillis();
-        try {
-            List<User> users = userService.getUsers();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            long count = userService.forEachUser(user -> {
+                try {
+                    generator.writeObject(user);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+            
             long responseTime = System.currentTimeMillis() - startTime;
             log.info("API Response: GET /users/getusers, Status: 200, Request ID: {}, Response Time: {}ms", requestId, responseTime);
-            log.info("Retrieved {} users", Map.of("userCount", users.size()));
-            return users;
+            log.info("Retrieved {} users", Map.of("userCount", count));
         } catch (Exception e) {
             long responseTime = System.currentTimeMillis() - startTime;
             log.info("API Response: GET /users/getusers, Status: 500, Request ID: {}, Response Time: {}ms", requestId, responseTime);
@@ -65,6 +95,43 @@ public class UserController {
         }
     }
 
+    /**
+     * Gets one page of users, ordered by id
+     * URL: /page?after=&limit=
+     *
+     * @param after the nextAfter value of the previous page (0 or omitted for the first page)
+     * @param limit the page size
+     * @return the users and the value to pass as after for the next page
+     */
+    @GetMapping("page")
+    public ResponseEntity<UserPage> getUserPage(@RequestParam(defaultValue = "0") long after,
+                                                @RequestParam(required = false) Integer limit) {
+        log.debug("API Request: GET /users/page");
+        
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (after < 0 || pageSize < 1 || pageSize > maxPageSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(userService.getUserPage(after, pageSize));
+    }
+
+    /**
+     * Check whether a username is available
+     * URL: /available
+     *
+     * @param username the username to check
+     * @return the username and whether it is available
+     */
+    @GetMapping("available")
+    public ResponseEntity<AvailabilityResponse> isUsernameAvailable(@RequestParam String username) {
+        log.debug("API Request: GET /users/available");
+        
+        if (username.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(new AvailabilityResponse(username, userService.isUsernameAvailable(username)));
+    }
+
     /**
      * Add a user
      * URL: /adduser
@@ -116,7 +183,7 @@ public class UserController {
             log.info("Method Entry: login, Username: {}", request.getUsername());
             
             User user = userService.login(request);
-            String token = jwtUtil.generateToken(user.getUsername());
+            String token = jwtUtil.generateToken(user.getId(), user.getUsername());
             
             long responseTime = System.currentTimeMillis() - startTime;
             log.info("API Response: POST /users/login, Status: 200, Request ID: {}, Response Time: {}ms", requestId, responseTime);
@@ -125,6 +192,10 @@ public class UserController {
             
             return ResponseEntity.ok(new LoginResponse(token));
         }
+        catch (PasswordHashingService.OverloadedException e) {
+            log.info("API Response: POST /users/login, Status: 503, Request ID: {}", requestId);
+            throw e;
+        }
         catch (Exception e) {
             long responseTime = System.currentTimeMillis() - startTime;
             log.info("API Response: POST /users/login, Status: 401, Request ID: {}, Response Time: {}ms", requestId, responseTime);
@@ -1,55 +1,75 @@
 package omgplatform.server.controllers;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.controllers.messages.MessageDispatcher;
+import omgplatform.server.dto.SessionPrincipal;
 import omgplatform.server.dto.WebSocketMessage;
-import omgplatform.server.entities.User;
-import omgplatform.server.services.UserService;
-import omgplatform.server.utils.JWTUtil;
+import omgplatform.server.services.TopicService;
+import omgplatform.server.services.WebSocketOutboundService;
+import omgplatform.server.services.WebSocketSessionService;
+import omgplatform.server.utils.WebSocketAuthInterceptor;
+import omgplatform.server.utils.WebSocketCodec;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * WebSocket handler for real-time communication.
  *
  * This handler manages:
  * - WebSocket connections and sessions
- * - User authentication via JWT tokens
- * - Real-time messaging between users
+ * - Decoding inbound frames and handing them to the message dispatcher
  * - Connection lifecycle management
+ * 
+ * Each message type is handled by its own MessageHandler (see the
+ * messages package); session state and outbound messaging live in
+ * WebSocketSessionService.
+ * 
+ * Clients may negotiate a binary encoding through a subprotocol (see
+ * WebSocketCodec). JSON text frames remain the default for clients that
+ * do not request one.
  *
  * @authors Clement Luo,
  * @date April 15, 2025
- * @edited July 14, 2025
+ * @edited October 16, 2026
  * @since 1.0
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class WebSocketHandler extends TextWebSocketHandler {
+public class WebSocketHandler extends AbstractWebSocketHandler implements SubProtocolCapable {
 
-    // List of authenticated user sessions
-    private final Map<WebSocketSession, User> authenticatedSessions = new ConcurrentHashMap<>();
-    
-    // Object mapper for JSON serialization
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    
     // Services
-    private final UserService userService;
-    private final JWTUtil jwtUtil;
+    private final WebSocketSessionService sessionService;
+    private final WebSocketOutboundService outboundService;
+    private final TopicService topicService;
+    private final MessageDispatcher dispatcher;
+
+    /**
+     * Get the subprotocols clients can request at handshake.
+     *
+     * @return Supported subprotocol names
+     */
+    @Override
+    public List<String> getSubProtocols() {
+        return WebSocketCodec.subprotocols(outboundService.isCompressionEnabled());
+    }
 
     /**
      * Handle new WebSocket connection establishment.
      * 
-     * Sends a welcome message to the client and logs connection details.
+     * Sessions that authenticated during the handshake are authenticated
+     * straight away; others get a welcome message asking them to send AUTH.
      *
      * @param session The WebSocket session that was established
      * @throws IOException if message sending fails
@@ -60,243 +80,112 @@ public class WebSocketHandler extends TextWebSocketHandler {
         log.info("WebSocket connection established", Map.of(
             "sessionId", sessionId,
             "remoteAddress", session.getRemoteAddress() != null ? session.getRemoteAddress().toString() : "unknown",
-            "activeConnections", authenticatedSessions.size() + 1
+            "codec", WebSocketCodec.forSession(session).name(),
+            "activeConnections", sessionService.getConnectionCount() + 1
         ));
         
+        outboundService.register(session);
+        
+        if (session.getAttributes().get(WebSocketAuthInterceptor.PRINCIPAL_ATTRIBUTE) instanceof SessionPrincipal principal) {
+            sessionService.authenticate(session, principal);
+            return;
+        }
+        
         // Send welcome message
         WebSocketMessage welcomeMsg = WebSocketMessage.system("Welcome! Please authenticate to start messaging.");
-        sendMessage(session, welcomeMsg);
+        sessionService.send(session, welcomeMsg);
     }
 
     /**
      * Handle incoming text messages from WebSocket clients.
      * 
-     * Processes different message types:
-     * - AUTH: User authentication with JWT token
-     * - MESSAGE: General messaging between users
-     * - BROADCAST: System-wide announcements
+     * Text frames always carry JSON, whatever codec was negotiated.
      *
      * @param session The WebSocket session
      * @param message The incoming text message
-     * @throws Exception if message processing fails
      */
     @Override
-    public void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
-        String sessionId = session.getId();
-        String payload = message.getPayload();
-        
+    public void handleTextMessage(WebSocketSession session, TextMessage message) {
         log.debug("Processing WebSocket message", Map.of(
-            "sessionId", sessionId,
-            "messageLength", payload.length(),
-            "messageContent", payload
+            "sessionId", session.getId(),
+            "messageLength", message.getPayloadLength()
         ));
 
         try {
-            // Parse the incoming message
-            WebSocketMessage wsMessage = objectMapper.readValue(payload, WebSocketMessage.class);
-            
-            // Handle different message types
-            switch (wsMessage.getType()) {
-                case "AUTH":
-                    handleAuthentication(session, wsMessage);
-                    break;
-                case "MESSAGE":
-                    handleChatMessage(session, wsMessage);
-                    break;
-                case "BROADCAST":
-                    handleBroadcastMessage(session, wsMessage);
-                    break;
-                default:
-                    sendError(session, "Unknown message type: " + wsMessage.getType());
-            }
-            
+            byte[] bytes = message.asBytes();
+            dispatcher.dispatch(session, WebSocketCodec.JSON, bytes, 0, bytes.length);
         } catch (Exception e) {
             log.error("Error processing WebSocket message", e);
-            sendError(session, "Invalid message format: " + e.getMessage());
+            sessionService.sendError(session, "Invalid message format: " + e.getMessage());
         }
     }
 
     /**
-     * Handle WebSocket connection closure.
+     * Handle incoming binary messages from WebSocket clients.
      * 
-     * Removes the user from authenticated sessions and broadcasts
-     * a departure message to other connected users.
+     * Binary frames are decoded with the codec negotiated at handshake.
+     * Sessions that did not negotiate a binary codec cannot send them.
      *
-     * @param session The WebSocket session that was closed
-     * @param status The close status with reason
+     * @param session The WebSocket session
+     * @param message The incoming binary message
      */
     @Override
-    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
-        String sessionId = session.getId();
-        User user = authenticatedSessions.remove(session);
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        WebSocketCodec codec = WebSocketCodec.forSession(session);
         
-        log.info("WebSocket connection closed", Map.of(
-            "sessionId", sessionId,
-            "closeStatus", status.getCode(),
-            "closeReason", status.getReason(),
-            "user", user != null ? user.getUsername() : "anonymous",
-            "activeConnections", authenticatedSessions.size()
+        log.debug("Processing binary WebSocket message", Map.of(
+            "sessionId", session.getId(),
+            "messageLength", message.getPayloadLength(),
+            "codec", codec.name()
         ));
         
-        if (user != null) {
-            // Broadcast user departure message
-            WebSocketMessage leaveMsg = WebSocketMessage.system(user.getUsername() + " has disconnected.");
-            broadcastToAuthenticated(leaveMsg);
-            
-            log.info("User disconnected: " + user.getUsername());
+        if (codec == WebSocketCodec.JSON) {
+            sessionService.sendError(session, "Binary frames require a binary subprotocol");
+            return;
         }
-    }
 
-    /**
-     * Handle user authentication via JWT token.
-     * 
-     * Validates the JWT token and adds the user to authenticated sessions
-     * if the token is valid.
-     *
-     * @param session The WebSocket session
-     * @param wsMessage The authentication message containing JWT token
-     */
-    private void handleAuthentication(WebSocketSession session, WebSocketMessage wsMessage) {
         try {
-            String token = (String) wsMessage.getPayload();
-            String username = jwtUtil.getUsernameFromToken(token);
-            
-            if (username != null && !jwtUtil.isTokenExpired(token)) {
-                var userOptional = userService.findByUsername(username);
-                if (userOptional.isPresent()) {
-                    User user = userOptional.get();
-                    authenticatedSessions.put(session, user);
-                    
-                    // Send authentication success message
-                    WebSocketMessage authSuccess = WebSocketMessage.system("Authentication successful! Welcome, " + username);
-                    sendMessage(session, authSuccess);
-                    
-                    // Broadcast user joined message
-                    WebSocketMessage joinMsg = WebSocketMessage.system(username + " has joined the chat.");
-                    broadcastToAuthenticated(joinMsg);
-                    
-                    log.info("User authenticated: " + username);
-                } else {
-                    sendError(session, "User not found");
-                }
+            ByteBuffer buffer = message.getPayload();
+            if (buffer.hasArray()) {
+                dispatcher.dispatch(session, codec, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
             } else {
-                sendError(session, "Invalid authentication token");
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.duplicate().get(bytes);
+                dispatcher.dispatch(session, codec, bytes, 0, bytes.length);
             }
         } catch (Exception e) {
-            log.error("Authentication error", e);
-            sendError(session, "Authentication failed: " + e.getMessage());
+            log.error("Error processing binary WebSocket message", e);
+            sessionService.sendError(session, "Invalid message format: " + e.getMessage());
         }
     }
 
     /**
-     * Handle chat messages between users.
-     * 
-     * Broadcasts the message to all authenticated users if the sender
-     * is authenticated.
-     *
-     * @param session The WebSocket session
-     * @param wsMessage The chat message
-     */
-    private void handleChatMessage(WebSocketSession session, WebSocketMessage wsMessage) {
-        User user = authenticatedSessions.get(session);
-        if (user == null) {
-            sendError(session, "Authentication required");
-            return;
-        }
-        
-        // Create message with sender information
-        WebSocketMessage chatMsg = WebSocketMessage.of("MESSAGE", wsMessage.getPayload());
-        chatMsg.setSender(user.getUsername());
-        
-        // Broadcast to all authenticated users
-        broadcastToAuthenticated(chatMsg);
-        
-        log.info("Chat message from " + user.getUsername() + ": " + wsMessage.getPayload());
-    }
-
-    /**
-     * Handle broadcast messages (system announcements).
+     * Handle WebSocket connection closure.
      * 
-     * Only authenticated users can send broadcast messages.
+     * Removes the user from authenticated sessions and topics. Other
+     * users learn they went offline from the next presence delta.
      *
-     * @param session The WebSocket session
-     * @param wsMessage The broadcast message
+     * @param session The WebSocket session that was closed
+     * @param status The close status with reason
      */
-    private void handleBroadcastMessage(WebSocketSession session, WebSocketMessage wsMessage) {
-        User user = authenticatedSessions.get(session);
-        if (user == null) {
-            sendError(session, "Authentication required");
-            return;
-        }
-        
-        // Create system broadcast message
-        WebSocketMessage broadcastMsg = WebSocketMessage.system((String) wsMessage.getPayload());
-        broadcastToAuthenticated(broadcastMsg);
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        String sessionId = session.getId();
+        SessionPrincipal user = sessionService.remove(session);
+        topicService.unsubscribeAll(session);
+        outboundService.unregister(session);
         
-        log.info("Broadcast message from " + user.getUsername() + ": " + wsMessage.getPayload());
-    }
-
-    /**
-     * Send a message to a specific WebSocket session.
-     *
-     * @param session The target WebSocket session
-     * @param message The message to send
-     */
-    private void sendMessage(WebSocketSession session, WebSocketMessage message) {
-        try {
-            String jsonMessage = objectMapper.writeValueAsString(message);
-            session.sendMessage(new TextMessage(jsonMessage));
-        } catch (IOException e) {
-            log.error("Failed to send message to session: " + session.getId(), e);
-        }
-    }
-
-    /**
-     * Send an error message to a specific WebSocket session.
-     *
-     * @param session The target WebSocket session
-     * @param error The error message to send
-     */
-    private void sendError(WebSocketSession session, String error) {
-        WebSocketMessage errorMsg = WebSocketMessage.error(error);
-        sendMessage(session, errorMsg);
-    }
-
-    /**
-     * Broadcast a message to all authenticated WebSocket sessions.
-     * 
-     * Sends the message to all connected and authenticated users,
-     * logging success and failure counts for monitoring.
-     *
-     * @param message The message to broadcast
-     */
-    private void broadcastToAuthenticated(WebSocketMessage message) {
-        log.debug("Broadcasting message to authenticated sessions", Map.of(
-            "messageType", message.getType(),
-            "targetSessions", authenticatedSessions.size()
+        log.info("WebSocket connection closed", Map.of(
+            "sessionId", sessionId,
+            "closeStatus", status.getCode(),
+            "closeReason", status.getReason(),
+            "user", user != null ? user.getUsername() : "anonymous",
+            "activeConnections", sessionService.getConnectionCount()
         ));
         
-        int successCount = 0;
-        int failureCount = 0;
-        
-        for (WebSocketSession session : authenticatedSessions.keySet()) {
-            if (session.isOpen()) {
-                try {
-                    sendMessage(session, message);
-                    successCount++;
-                } catch (Exception e) {
-                    log.error("Failed to broadcast message to session: " + session.getId(), e);
-                    failureCount++;
-                }
-            }
+        if (user != null) {
+            log.info("User disconnected: " + user.getUsername());
         }
-        
-        log.info("Broadcast completed", Map.of(
-            "messageType", message.getType(),
-            "successfulSends", successCount,
-            "failedSends", failureCount,
-            "totalSessions", authenticatedSessions.size()
-        ));
     }
 
     /**
@@ -305,16 +194,16 @@ public class WebSocketHandler extends TextWebSocketHandler {
      * @return Number of authenticated sessions
      */
     public int getConnectionCount() {
-        return authenticatedSessions.size();
+        return sessionService.getConnectionCount();
     }
 
     /**
-     * Get the authenticated user for a specific WebSocket session.
+     * Get the authenticated principal for a specific WebSocket session.
      *
      * @param session The WebSocket session
-     * @return The authenticated user, or null if not authenticated
+     * @return The authenticated principal, or null if not authenticated
      */
-    public User getAuthenticatedUser(WebSocketSession session) {
-        return authenticatedSessions.get(session);
+    public SessionPrincipal getAuthenticatedUser(WebSocketSession session) {
+        return sessionService.getPrincipal(session);
     }
 }
@@ -0,0 +1,64 @@
+package omgplatform.server.controllers.messages;
+
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.SessionPrincipal;
+import omgplatform.server.services.WebSocketSessionService;
+import omgplatform.server.utils.VerifiedTokenCache;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * Handles AUTH messages: user authentication via JWT token.
+ *
+ * For clients that did not authenticate during the handshake. Validates
+ * the JWT token and authenticates the session with a principal taken
+ * from its claims, without a database lookup.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuthMessageHandler implements MessageHandler<String> {
+
+    // Services
+    private final VerifiedTokenCache tokenCache;
+    private final WebSocketSessionService sessionService;
+
+    @Override
+    public String getType() {
+        return "AUTH";
+    }
+
+    @Override
+    public Class<String> getPayloadType() {
+        return String.class;
+    }
+
+    @Override
+    public boolean requiresAuthentication() {
+        return false;
+    }
+
+    @Override
+    public void handle(WebSocketSession session, String topic, String token) {
+        if (sessionService.isAuthenticated(session)) {
+            sessionService.sendError(session, "Already authenticated");
+            return;
+        }
+
+        try {
+            SessionPrincipal principal = SessionPrincipal.of(tokenCache.verify(token));
+            sessionService.authenticate(session, principal);
+        } catch (JwtException | IllegalArgumentException e) {
+            sessionService.sendError(session, "Invalid authentication token");
+        } catch (Exception e) {
+            log.error("Authentication error", e);
+            sessionService.sendError(session, "Authentication failed: " + e.getMessage());
+        }
+    }
+}
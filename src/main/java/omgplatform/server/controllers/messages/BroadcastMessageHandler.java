@@ -0,0 +1,59 @@
+package omgplatform.server.controllers.messages;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.SessionPrincipal;
+import omgplatform.server.dto.WebSocketMessage;
+import omgplatform.server.services.TopicService;
+import omgplatform.server.services.WebSocketSessionService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * Handles BROADCAST messages: system announcements.
+ *
+ * A broadcast with a topic goes to that topic's subscribers (the sender
+ * must be one of them); without a topic it goes to every authenticated user.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BroadcastMessageHandler implements MessageHandler<String> {
+
+    // Services
+    private final WebSocketSessionService sessionService;
+    private final TopicService topicService;
+
+    @Override
+    public String getType() {
+        return "BROADCAST";
+    }
+
+    @Override
+    public Class<String> getPayloadType() {
+        return String.class;
+    }
+
+    @Override
+    public void handle(WebSocketSession session, String topic, String text) {
+        SessionPrincipal user = sessionService.getPrincipal(session);
+        
+        if (topic != null) {
+            if (!topicService.isSubscribed(session, topic)) {
+                sessionService.sendError(session, "Not subscribed to topic: " + topic);
+                return;
+            }
+            sessionService.publish(topic, WebSocketMessage.system(topic, text));
+        } else {
+            // Create system broadcast message
+            WebSocketMessage broadcastMsg = WebSocketMessage.system(text);
+            sessionService.broadcastToAuthenticated(broadcastMsg);
+        }
+        
+        log.info("Broadcast message from " + user.getUsername() + ": " + text);
+    }
+}
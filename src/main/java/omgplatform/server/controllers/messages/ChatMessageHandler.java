@@ -0,0 +1,153 @@
+package omgplatform.server.controllers.messages;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.RawJson;
+import omgplatform.server.dto.SessionPrincipal;
+import omgplatform.server.dto.WebSocketMessage;
+import omgplatform.server.services.ChatHistoryService;
+import omgplatform.server.services.TopicService;
+import omgplatform.server.services.WebSocketSessionService;
+import omgplatform.server.utils.WebSocketCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+
+/**
+ * Handles MESSAGE messages: chat between users in a topic.
+ *
+ * Publishes the message to the subscribers of its topic (the default
+ * topic if none is given). The sender must be subscribed to the topic.
+ *
+ * The server never inspects chat content, so in relay mode the payload
+ * is passed through exactly as the client sent it: the outgoing message
+ * only adds the server fields (sender, topic, timestamp) around the
+ * original JSON. With relay mode off the payload is parsed into a tree
+ * and serialized again.
+ *
+ * Published messages are also queued for the chat history, which is
+ * written in the background.
+ *
+ * Payloads over the size limit are always rejected. When validation is
+ * enabled the payload must also be a string or an object nested no
+ * deeper than the configured depth.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChatMessageHandler implements MessageHandler<RawJson> {
+
+    // Whether payloads are relayed without being parsed
+    @Value("${websocket.relay.enabled:true}")
+    private boolean relayEnabled;
+
+    // Largest payload accepted, in UTF-8 bytes
+    @Value("${websocket.relay.max-payload-bytes:16384}")
+    private int maxPayloadBytes;
+
+    // Whether payloads are checked before being relayed
+    @Value("${websocket.relay.validate:false}")
+    private boolean validate;
+
+    // Deepest object/array nesting accepted when validating
+    @Value("${websocket.relay.max-depth:8}")
+    private int maxDepth;
+
+    // Services
+    private final WebSocketSessionService sessionService;
+    private final TopicService topicService;
+    private final ChatHistoryService chatHistoryService;
+
+    @Override
+    public String getType() {
+        return "MESSAGE";
+    }
+
+    @Override
+    public Class<RawJson> getPayloadType() {
+        return RawJson.class;
+    }
+
+    @Override
+    public void handle(WebSocketSession session, String topic, RawJson payload) {
+        SessionPrincipal user = sessionService.getPrincipal(session);
+        
+        String target = topic != null ? topic : topicService.getDefaultTopic();
+        if (target == null || !topicService.isSubscribed(session, target)) {
+            sessionService.sendError(session, "Not subscribed to topic: " + target);
+            return;
+        }
+        
+        if (payload != null && payload.getSize() > maxPayloadBytes) {
+            sessionService.sendError(session, "Payload too large: " + payload.getSize() + " bytes (max " + maxPayloadBytes + ")");
+            return;
+        }
+        if (validate && !isValidPayload(payload)) {
+            sessionService.sendError(session, "Invalid payload: expected a string or an object nested at most " + maxDepth + " levels");
+            return;
+        }
+        
+        // Create message with sender information
+        WebSocketMessage chatMsg;
+        try {
+            chatMsg = WebSocketMessage.of("MESSAGE", relayEnabled || payload == null
+                    ? payload
+                    : WebSocketCodec.JSON.getMapper().readTree(payload.getJson()));
+        } catch (IOException e) {
+            sessionService.sendError(session, "Invalid payload: " + e.getMessage());
+            return;
+        }
+        chatMsg.setSender(user.getUsername());
+        chatMsg.setTopic(target);
+        
+        // Publish to the topic's subscribers only, then queue it for history
+        sessionService.publish(target, chatMsg);
+        chatHistoryService.append(chatMsg);
+        
+        log.info("Chat message from " + user.getUsername() + " to " + target + ": " + payload);
+    }
+
+    /**
+     * Check that a payload is a string, or an object within the depth limit.
+     *
+     * Streams over the payload without building a tree.
+     *
+     * @param payload The raw payload
+     * @return Whether the payload is acceptable
+     */
+    private boolean isValidPayload(RawJson payload) {
+        if (payload == null) {
+            return false;
+        }
+
+        try (JsonParser parser = payload.createParser()) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_STRING) {
+                return true;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                return false;
+            }
+
+            int depth = 1;
+            while (depth > 0 && (token = parser.nextToken()) != null) {
+                if (token.isStructStart() && ++depth > maxDepth) {
+                    return false;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+            }
+            return depth == 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package omgplatform.server.controllers.messages;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.ChatHistoryPage;
+import omgplatform.server.dto.HistoryRequest;
+import omgplatform.server.dto.WebSocketMessage;
+import omgplatform.server.services.ChatHistoryService;
+import omgplatform.server.services.TopicService;
+import omgplatform.server.services.WebSocketSessionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * Handles HISTORY messages: fetching older messages of a topic.
+ *
+ * Replies to the sender only with a HISTORY message whose payload is a
+ * page of messages, newest first. The sender must be subscribed to the
+ * topic (the default topic if none is given).
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HistoryMessageHandler implements MessageHandler<HistoryRequest> {
+
+    @Value("${chat.history.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${chat.history.max-page-size:200}")
+    private int maxPageSize;
+
+    // Services
+    private final WebSocketSessionService sessionService;
+    private final TopicService topicService;
+    private final ChatHistoryService chatHistoryService;
+
+    @Override
+    public String getType() {
+        return "HISTORY";
+    }
+
+    @Override
+    public Class<HistoryRequest> getPayloadType() {
+        return HistoryRequest.class;
+    }
+
+    @Override
+    public void handle(WebSocketSession session, String topic, HistoryRequest payload) {
+        String target = topic != null ? topic : topicService.getDefaultTopic();
+        if (target == null || !topicService.isSubscribed(session, target)) {
+            sessionService.sendError(session, "Not subscribed to topic: " + target);
+            return;
+        }
+
+        int limit = payload != null && payload.getLimit() != null ? payload.getLimit() : defaultPageSize;
+        if (limit < 1 || limit > maxPageSize) {
+            sessionService.sendError(session, "Invalid history limit: " + limit + " (max " + maxPageSize + ")");
+            return;
+        }
+
+        ChatHistoryPage page;
+        try {
+            page = chatHistoryService.getHistory(target, payload != null ? payload.getBefore() : null, limit);
+        } catch (IllegalArgumentException e) {
+            sessionService.sendError(session, e.getMessage());
+            return;
+        }
+
+        WebSocketMessage reply = WebSocketMessage.of("HISTORY", page);
+        reply.setTopic(target);
+        sessionService.send(session, reply);
+    }
+}
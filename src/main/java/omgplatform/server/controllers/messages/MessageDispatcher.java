@@ -0,0 +1,186 @@
+package omgplatform.server.controllers.messages;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.RawJson;
+import omgplatform.server.services.WebSocketSessionService;
+import omgplatform.server.utils.WebSocketCodec;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Routes inbound WebSocket messages to their typed handlers.
+ *
+ * Frames are read with a streaming parser instead of being bound to a
+ * full message object. As soon as the type field is read, messages with
+ * an unknown type or from an unauthenticated sender are rejected without
+ * binding the rest of the frame. The payload is then bound straight to
+ * the handler's payload type.
+ *
+ * Clients normally send the type first. If the payload comes before the
+ * type, its tokens are buffered and bound once the type is known.
+ *
+ * Handlers whose payload type is RawJson receive the payload unparsed,
+ * sliced directly out of the frame.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class MessageDispatcher {
+
+    // Handlers keyed by message type
+    private final Map<String, MessageHandler<?>> handlers = new HashMap<>();
+
+    // Dispatch counters
+    private final LongAdder dispatchedCount = new LongAdder();
+    private final LongAdder unknownTypeCount = new LongAdder();
+    private final LongAdder unauthenticatedCount = new LongAdder();
+
+    // Services
+    private final WebSocketSessionService sessionService;
+
+    /**
+     * Create a dispatcher for the registered handlers.
+     *
+     * @param handlers Every MessageHandler in the context
+     * @param sessionService The session service
+     */
+    public MessageDispatcher(List<MessageHandler<?>> handlers, WebSocketSessionService sessionService) {
+        this.sessionService = sessionService;
+        for (MessageHandler<?> handler : handlers) {
+            MessageHandler<?> previous = this.handlers.put(handler.getType(), handler);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicate handler for message type: " + handler.getType());
+            }
+        }
+        log.info("Registered WebSocket message handlers", Map.of("types", this.handlers.keySet()));
+    }
+
+    /**
+     * Parse a frame and route it to the handler for its type.
+     *
+     * @param session The sending WebSocket session
+     * @param codec The codec the frame is encoded with
+     * @param data The frame bytes
+     * @param offset Start of the frame in data
+     * @param length Length of the frame
+     * @throws IOException if the frame is malformed or the payload does not fit the handler
+     */
+    public void dispatch(WebSocketSession session, WebSocketCodec codec, byte[] data, int offset, int length) throws IOException {
+        ObjectMapper mapper = codec.getMapper();
+
+        try (JsonParser parser = mapper.getFactory().createParser(data, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                sessionService.sendError(session, "Invalid message format: expected an object");
+                return;
+            }
+
+            MessageHandler<?> handler = null;
+            String topic = null;
+            Object payload = null;
+            TokenBuffer bufferedPayload = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+
+                switch (field) {
+                    case "type" -> {
+                        String type = parser.getValueAsString();
+                        handler = type != null ? handlers.get(type) : null;
+                        if (handler == null) {
+                            unknownTypeCount.increment();
+                            sessionService.sendError(session, "Unknown message type: " + type);
+                            return;
+                        }
+                        if (handler.requiresAuthentication() && !sessionService.isAuthenticated(session)) {
+                            unauthenticatedCount.increment();
+                            sessionService.sendError(session, "Authentication required");
+                            return;
+                        }
+                    }
+                    case "topic" -> topic = parser.getValueAsString();
+                    case "payload" -> {
+                        if (handler != null) {
+                            payload = readPayload(parser, mapper, handler, codec == WebSocketCodec.JSON ? data : null, offset);
+                        } else {
+                            bufferedPayload = TokenBuffer.asCopyOfValue(parser);
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if (handler == null) {
+                unknownTypeCount.increment();
+                sessionService.sendError(session, "Missing message type");
+                return;
+            }
+            if (bufferedPayload != null) {
+                try (JsonParser buffered = bufferedPayload.asParser(mapper)) {
+                    buffered.nextToken();
+                    payload = readPayload(buffered, mapper, handler, null, 0);
+                }
+            }
+
+            dispatchedCount.increment();
+            invoke(handler, session, topic, payload);
+        }
+    }
+
+    /**
+     * Get dispatch statistics for monitoring.
+     *
+     * @return Dispatch counters keyed by name
+     */
+    public Map<String, Long> getStats() {
+        return Map.of(
+            "dispatched", dispatchedCount.sum(),
+            "unknownType", unknownTypeCount.sum(),
+            "unauthenticated", unauthenticatedCount.sum()
+        );
+    }
+
+    /**
+     * Bind the payload value at the parser's current token.
+     *
+     * Handlers that take RawJson get the value as it was sent: sliced
+     * straight out of the frame bytes for JSON frames, or copied token by
+     * token otherwise. Every other payload type is bound by the mapper.
+     *
+     * @param json The UTF-8 JSON frame bytes, or null if the value cannot be sliced
+     */
+    private static Object readPayload(JsonParser parser, ObjectMapper mapper, MessageHandler<?> handler,
+                                      byte[] json, int offset) throws IOException {
+        if (handler.getPayloadType() != RawJson.class) {
+            return mapper.readValue(parser, handler.getPayloadType());
+        }
+        if (json == null) {
+            return RawJson.copyOf(parser);
+        }
+
+        // Byte offsets are relative to the start of the parser input
+        long start = parser.currentTokenLocation().getByteOffset();
+        parser.skipChildren();
+        parser.finishToken();
+        long end = parser.currentLocation().getByteOffset();
+        return RawJson.slice(json, offset + (int) start, (int) (end - start));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void invoke(MessageHandler<T> handler, WebSocketSession session, String topic, Object payload) {
+        handler.handle(session, topic, (T) payload);
+    }
+}
@@ -0,0 +1,51 @@
+package omgplatform.server.controllers.messages;
+
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * Handles one type of inbound WebSocket message.
+ *
+ * Implementations are Spring components; MessageDispatcher finds them by
+ * type, so adding a message type only needs a new handler. The payload
+ * is bound directly to the handler's own payload type.
+ *
+ * @param <T> The payload type
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+public interface MessageHandler<T> {
+
+    /**
+     * Get the message type this handler accepts (e.g. "MESSAGE").
+     *
+     * @return The message type
+     */
+    String getType();
+
+    /**
+     * Get the type the message payload is bound to.
+     *
+     * @return The payload class
+     */
+    Class<T> getPayloadType();
+
+    /**
+     * Whether the sender must be authenticated before the message is bound.
+     *
+     * @return Whether authentication is required
+     */
+    default boolean requiresAuthentication() {
+        return true;
+    }
+
+    /**
+     * Handle a message.
+     *
+     * @param session The sending WebSocket session
+     * @param topic The message's topic, or null if none was given
+     * @param payload The bound payload, or null if none was given
+     */
+    void handle(WebSocketSession session, String topic, T payload);
+}
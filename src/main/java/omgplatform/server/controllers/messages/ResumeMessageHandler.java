@@ -0,0 +1,85 @@
+package omgplatform.server.controllers.messages;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.ResumeRequest;
+import omgplatform.server.dto.WebSocketMessage;
+import omgplatform.server.services.ReplayService;
+import omgplatform.server.services.TopicService;
+import omgplatform.server.services.WebSocketSessionService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Map;
+
+/**
+ * Handles RESUME messages: picking up topics after a reconnect.
+ *
+ * For each topic the client names with its last sequence number, the
+ * session is subscribed again and the frames it missed are replayed,
+ * followed by RESUMED. If the gap is no longer in the replay ring, or
+ * the epoch is from another node or run, the session is still
+ * subscribed but gets SNAPSHOT_REQUIRED instead, and should reload the
+ * topic's history.
+ *
+ * Frames that arrived live between authenticating and resuming may be
+ * replayed again; clients drop sequence numbers they have already seen.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ResumeMessageHandler implements MessageHandler<ResumeRequest> {
+
+    // Services
+    private final WebSocketSessionService sessionService;
+    private final TopicService topicService;
+    private final ReplayService replayService;
+
+    @Override
+    public String getType() {
+        return "RESUME";
+    }
+
+    @Override
+    public Class<ResumeRequest> getPayloadType() {
+        return ResumeRequest.class;
+    }
+
+    @Override
+    public void handle(WebSocketSession session, String topic, ResumeRequest payload) {
+        if (payload == null || payload.getTopics() == null) {
+            sessionService.sendError(session, "RESUME requires the last sequence number of each topic");
+            return;
+        }
+
+        boolean sameEpoch = replayService.getEpoch().equals(payload.getEpoch());
+        for (Map.Entry<String, Long> entry : payload.getTopics().entrySet()) {
+            String target = entry.getKey();
+            if (!topicService.isValidTopic(target) || entry.getValue() == null) {
+                sessionService.sendError(session, "Invalid topic: " + target);
+                continue;
+            }
+
+            int replayed = sameEpoch ? sessionService.resume(session, target, entry.getValue()) : -1;
+            if (replayed < 0) {
+                topicService.subscribe(session, target);
+                replayService.recordSnapshotRequired();
+                sessionService.send(session, topicMessage("SNAPSHOT_REQUIRED", target, null));
+            } else {
+                sessionService.send(session, topicMessage("RESUMED", target, replayed));
+            }
+
+            log.debug("Topic resume", Map.of("sessionId", session.getId(), "topic", target, "replayed", replayed));
+        }
+    }
+
+    private static WebSocketMessage topicMessage(String type, String topic, Object payload) {
+        WebSocketMessage message = WebSocketMessage.of(type, payload);
+        message.setTopic(topic);
+        return message;
+    }
+}
@@ -0,0 +1,58 @@
+package omgplatform.server.controllers.messages;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.SessionPrincipal;
+import omgplatform.server.dto.WebSocketMessage;
+import omgplatform.server.services.TopicService;
+import omgplatform.server.services.WebSocketSessionService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * Handles SUBSCRIBE messages: joining a topic.
+ *
+ * The topic is read from the message's topic field, or from the
+ * payload for clients that send it as a plain string.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SubscribeMessageHandler implements MessageHandler<String> {
+
+    // Services
+    private final WebSocketSessionService sessionService;
+    private final TopicService topicService;
+
+    @Override
+    public String getType() {
+        return "SUBSCRIBE";
+    }
+
+    @Override
+    public Class<String> getPayloadType() {
+        return String.class;
+    }
+
+    @Override
+    public void handle(WebSocketSession session, String topic, String payload) {
+        SessionPrincipal user = sessionService.getPrincipal(session);
+        
+        String target = topic != null ? topic : payload;
+        if (!topicService.isValidTopic(target)) {
+            sessionService.sendError(session, "Invalid topic: " + target);
+            return;
+        }
+        
+        if (topicService.subscribe(session, target)) {
+            WebSocketMessage joinMsg = WebSocketMessage.system(target, user.getUsername() + " has joined " + target + ".");
+            sessionService.publish(target, joinMsg);
+        }
+        
+        log.info("User " + user.getUsername() + " subscribed to " + target);
+    }
+}
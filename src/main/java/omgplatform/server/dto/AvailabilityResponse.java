@@ -0,0 +1,18 @@
+package omgplatform.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents a response object for a username availability check.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class AvailabilityResponse {
+    private String username;
+    private boolean available;
+}
@@ -0,0 +1,26 @@
+package omgplatform.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents the outcome of one row of a bulk registration.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class BulkRegisterResult {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+
+    private String username;
+    private Status status;
+    private String message;
+}
@@ -0,0 +1,21 @@
+package omgplatform.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Represents one page of a topic's chat history, newest message first.
+ * Pass nextBefore as the before parameter to get older messages; it is null on the last page.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class ChatHistoryPage {
+    private List<WebSocketMessage> messages;
+    private String nextBefore;
+}
@@ -0,0 +1,41 @@
+package omgplatform.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Wraps a WebSocket message published to the other nodes of the cluster.
+ *
+ * The origin node id and its per-node sequence number identify each
+ * envelope, so receivers can drop duplicates and their own messages.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterEnvelope {
+
+    /**
+     * Id of the node that published the message
+     */
+    private String originNode;
+
+    /**
+     * Sequence number, increasing per origin node
+     */
+    private long sequence;
+
+    /**
+     * Topic to deliver to (null for all authenticated sessions)
+     */
+    private String topic;
+
+    /**
+     * The message to deliver
+     */
+    private WebSocketMessage message;
+}
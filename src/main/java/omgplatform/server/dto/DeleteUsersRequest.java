@@ -0,0 +1,24 @@
+package omgplatform.server.dto;
+
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Represents a request object for deleting users in bulk.
+ * Every criterion that is set must match; at least one is required.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Data
+public class DeleteUsersRequest {
+    private List<Long> ids;
+
+    private OffsetDateTime createdBefore;
+
+    // Users whose last login (or creation, if they never logged in) is older than this
+    private OffsetDateTime inactiveSince;
+}
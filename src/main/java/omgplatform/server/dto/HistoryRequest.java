@@ -0,0 +1,19 @@
+package omgplatform.server.dto;
+
+import lombok.Data;
+
+/**
+ * Represents the payload of a HISTORY WebSocket message.
+ * Both fields are optional; omit before for the newest messages.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Data
+public class HistoryRequest {
+    // nextBefore of the previous page
+    private String before;
+
+    private Integer limit;
+}
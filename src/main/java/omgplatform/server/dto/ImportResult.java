@@ -0,0 +1,22 @@
+package omgplatform.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents the outcome of a bulk user import.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class ImportResult {
+    // Rows read from the upload
+    private long received;
+    private long inserted;
+    private long updated;
+    // Rows that were invalid, repeated, or conflicted with conflict mode "skip"
+    private long skipped;
+}
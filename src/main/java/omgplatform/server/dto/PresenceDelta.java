@@ -0,0 +1,22 @@
+package omgplatform.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Represents the presence changes of one interval (the payload of a PRESENCE message).
+ * A user who came and went within the interval appears in neither list.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class PresenceDelta {
+    private List<PresenceUser> joined;
+    private List<PresenceUser> left;
+    private int online;
+}
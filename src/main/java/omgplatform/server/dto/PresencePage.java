@@ -0,0 +1,22 @@
+package omgplatform.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Represents one page of the online users, ordered by user id.
+ * Pass nextAfter as the after parameter to get the next page; it is null on the last page.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class PresencePage {
+    private List<PresenceUser> users;
+    private Long nextAfter;
+    private int online;
+}
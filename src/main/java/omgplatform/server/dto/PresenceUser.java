@@ -0,0 +1,22 @@
+package omgplatform.server.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents an online user.
+ * The session count is only included in presence snapshots.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PresenceUser {
+    private Long userId;
+    private String username;
+    private Integer sessions;
+}
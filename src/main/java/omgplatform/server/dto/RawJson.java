@@ -0,0 +1,119 @@
+package omgplatform.server.dto;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A JSON value kept exactly as the client sent it.
+ *
+ * Used for payloads the server relays without inspecting, so no object
+ * tree is built for them. When a message holding one is serialized to
+ * JSON, the fragment is written out verbatim; binary formats such as
+ * Smile receive it token by token.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@JsonSerialize(using = RawJson.Serializer.class)
+public class RawJson {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // The JSON text of the value
+    @Getter
+    private final String json;
+
+    // Size of the value in UTF-8 bytes
+    @Getter
+    private final int size;
+
+    /**
+     * Wrap a JSON fragment.
+     *
+     * @param json The JSON text of a single value
+     * @param size Size of the value in UTF-8 bytes
+     */
+    public RawJson(String json, int size) {
+        this.json = json;
+        this.size = size;
+    }
+
+    /**
+     * Slice a value out of UTF-8 encoded JSON without parsing it.
+     *
+     * @param data The encoded JSON
+     * @param offset Start of the value
+     * @param length Length of the value in bytes
+     * @return The raw value
+     */
+    public static RawJson slice(byte[] data, int offset, int length) {
+        return new RawJson(new String(data, offset, length, StandardCharsets.UTF_8), length);
+    }
+
+    /**
+     * Copy the value at the parser's current token as JSON text.
+     *
+     * Used when the source is not UTF-8 JSON (e.g. Smile) and cannot be sliced.
+     *
+     * @param parser A parser positioned on the first token of the value
+     * @return The raw value
+     * @throws IOException if the value cannot be read
+     */
+    public static RawJson copyOf(JsonParser parser) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return new RawJson(out.toString(StandardCharsets.UTF_8), out.size());
+    }
+
+    /**
+     * Open a parser over the value.
+     *
+     * @return A new JSON parser
+     * @throws IOException if the parser cannot be created
+     */
+    public JsonParser createParser() throws IOException {
+        return JSON_FACTORY.createParser(json);
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+
+    /**
+     * Writes the fragment verbatim to JSON text output and copies it
+     * token by token to any other format.
+     */
+    public static class Serializer extends StdSerializer<RawJson> {
+
+        public Serializer() {
+            super(RawJson.class);
+        }
+
+        @Override
+        public void serialize(RawJson value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (generator instanceof JsonGeneratorImpl) {
+                generator.writeRawValue(value.json);
+                return;
+            }
+
+            try (JsonParser parser = value.createParser()) {
+                parser.nextToken();
+                generator.copyCurrentStructure(parser);
+            }
+        }
+    }
+}
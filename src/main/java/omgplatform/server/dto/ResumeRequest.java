@@ -0,0 +1,21 @@
+package omgplatform.server.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Represents the payload of a RESUME WebSocket message.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Data
+public class ResumeRequest {
+    // Epoch from the SESSION message of the previous connection
+    private String epoch;
+
+    // Last sequence number received, by topic
+    private Map<String, Long> topics;
+}
@@ -0,0 +1,42 @@
+package omgplatform.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.Principal;
+
+/**
+ * The authenticated user of a WebSocket session.
+ *
+ * Built only from verified token claims, so authenticating a session
+ * needs no database round-trip. Kept deliberately small because one is
+ * held per connection.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class SessionPrincipal implements Principal {
+
+    // User id (null for tokens issued before ids were included)
+    private final Long userId;
+
+    private final String username;
+
+    /**
+     * Build a principal from verified token claims.
+     *
+     * @param claims The verified claims
+     * @return The principal
+     */
+    public static SessionPrincipal of(VerifiedClaims claims) {
+        return new SessionPrincipal(claims.getUserId(), claims.getUsername());
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,21 @@
+package omgplatform.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Represents one page of a user listing.
+ * Pass nextAfter as the after parameter to get the next page; it is null on the last page.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class UserPage {
+    private List<UserSummary> users;
+    private Long nextAfter;
+}
@@ -0,0 +1,32 @@
+package omgplatform.server.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Represents a user in listings: every column except the password hash.
+ * Field names in JSON match the User entity.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class UserSummary {
+    private Long id;
+    private String username;
+    private String fullName;
+    private LocalDate dateOfBirth;
+    private OffsetDateTime lastLogin;
+
+    @JsonProperty("created_at")
+    private OffsetDateTime createdAt;
+
+    @JsonProperty("updated_at")
+    private OffsetDateTime updatedAt;
+}
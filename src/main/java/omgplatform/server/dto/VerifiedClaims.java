@@ -0,0 +1,40 @@
+package omgplatform.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT token whose signature and expiry have been verified.
+ *
+ * Immutable, so it can be passed around (and cached) freely.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class VerifiedClaims {
+
+    // Id of the user the token was issued to (null for older tokens)
+    private final Long userId;
+
+    // Username the token was issued to
+    private final String username;
+
+    private final Instant issuedAt;
+
+    private final Instant expiresAt;
+
+    /**
+     * Check whether the token has expired since it was verified.
+     *
+     * @param now The current time
+     * @return Whether the token is past its expiry
+     */
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
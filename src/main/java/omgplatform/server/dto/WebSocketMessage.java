@@ -16,7 +16,7 @@ import lombok.NoArgsConstructor;
  *
  * @authors Clement Luo,
  * @date June 29, 2025
- * @edited July 14, 2025
+ * @edited October 16, 2026
  * @since 1.0
  */
 @Data
@@ -26,10 +26,15 @@ import lombok.NoArgsConstructor;
 public class WebSocketMessage {
     
     /**
-     * Type of message (e.g., "AUTH", "MESSAGE", "BROADCAST", "SYSTEM", "ERROR")
+     * Type of message (e.g., "AUTH", "MESSAGE", "BROADCAST", "SUBSCRIBE", "UNSUBSCRIBE", "HISTORY", "RESUME", "PRESENCE", "SYSTEM", "ERROR")
      */
     private String type;
     
+    /**
+     * Topic (room) the message belongs to (optional)
+     */
+    private String topic;
+    
     /**
      * Sender's username (optional, set by server)
      */
@@ -50,6 +55,11 @@ public class WebSocketMessage {
      */
     private String error;
     
+    /**
+     * Sequence number within the topic's stream (set by server on topic messages)
+     */
+    private Long seq;
+    
     /**
      * Create a new WebSocket message with current timestamp.
      *
@@ -58,7 +68,7 @@ public class WebSocketMessage {
      * @return New WebSocket message
      */
     public static WebSocketMessage of(String type, Object payload) {
-        return new WebSocketMessage(type, null, payload, System.currentTimeMillis(), null);
+        return new WebSocketMessage(type, null, null, payload, System.currentTimeMillis(), null, null);
     }
     
     /**
@@ -68,7 +78,7 @@ public class WebSocketMessage {
      * @return Error WebSocket message
      */
     public static WebSocketMessage error(String error) {
-        return new WebSocketMessage("ERROR", null, null, System.currentTimeMillis(), error);
+        return new WebSocketMessage("ERROR", null, null, null, System.currentTimeMillis(), error, null);
     }
     
     /**
@@ -78,6 +88,27 @@ public class WebSocketMessage {
      * @return System WebSocket message
      */
     public static WebSocketMessage system(String message) {
-        return new WebSocketMessage("SYSTEM", "System", message, System.currentTimeMillis(), null);
+        return new WebSocketMessage("SYSTEM", null, "System", message, System.currentTimeMillis(), null, null);
+    }
+    
+    /**
+     * Create a system message scoped to a topic.
+     *
+     * @param topic The topic the message belongs to
+     * @param message The system message content
+     * @return System WebSocket message
+     */
+    public static WebSocketMessage system(String topic, String message) {
+        return new WebSocketMessage("SYSTEM", topic, "System", message, System.currentTimeMillis(), null, null);
+    }
+    
+    /**
+     * Copy this message with a stream sequence number.
+     *
+     * @param seq The sequence number
+     * @return A copy carrying the sequence number
+     */
+    public WebSocketMessage withSeq(long seq) {
+        return new WebSocketMessage(type, topic, sender, payload, timestamp, error, seq);
     }
 } 
\ No newline at end of file
@@ -12,7 +12,7 @@ import java.time.OffsetDateTime;
  *
  * @authors Clement Luo,
  * @date April 15, 2025
- * @edited June 27, 2025
+ * @edited October 16, 2026
  * @since 1.0
  */
 @Entity
@@ -22,12 +22,16 @@ import java.time.OffsetDateTime;
 @AllArgsConstructor
 public class User {
 
+    // Ids handed out per sequence call; must match the increment of users_id_seq
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     //COLUMNS
 
-    //User id
+    //User id (allocated from the sequence in blocks of 50 so inserts can be batched)
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     //Username
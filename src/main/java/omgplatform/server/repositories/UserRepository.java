@@ -1,17 +1,26 @@
 package omgplatform.server.repositories;
 
+import omgplatform.server.dto.UserSummary;
 import omgplatform.server.entities.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Contains database communication logic for user accounts.
  *
  * @authors Clement Luo,
  * @date April 15, 2025
- * @edited June 29, 2025
+ * @edited October 16, 2026
  * @since 1.0
  */
 @Repository
@@ -32,4 +41,48 @@ public interface UserRepository extends JpaRepository<User,Long> {
      * @return the user entity (if found)
      */
     Optional<User> findByUsername(String username);
+
+    /**
+     * Retrieve accounts for several usernames in one query
+     *
+     * @param usernames the usernames to look up
+     * @return the user entities found (missing usernames are omitted)
+     */
+    List<User> findByUsernameIn(Collection<String> usernames);
+
+    /**
+     * Stream every username without loading the entities
+     * (must be called inside a transaction and the stream closed)
+     *
+     * @return a stream of all usernames
+     */
+    @Query("SELECT u.username FROM User u")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<String> streamAllUsernames();
+
+    /**
+     * Retrieve the accounts following an id, in id order, without password hashes
+     * (keyset pagination: the primary key index seeks straight to the page)
+     *
+     * @param afterId the last id of the previous page (0 for the first page)
+     * @param limit the page size
+     * @return the page of accounts
+     */
+    @Query("SELECT new omgplatform.server.dto.UserSummary(u.id, u.username, u.fullName, u.dateOfBirth, "
+            + "u.lastLogin, u.created_at, u.updated_at) FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findSummariesAfter(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Stream every account in id order, without password hashes
+     * (must be called inside a transaction and the stream closed)
+     *
+     * @return a stream of all accounts
+     */
+    @Query("SELECT new omgplatform.server.dto.UserSummary(u.id, u.username, u.fullName, u.dateOfBirth, "
+            + "u.lastLogin, u.created_at, u.updated_at) FROM User u ORDER BY u.id")
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    Stream<UserSummary> streamAllSummaries();
 }
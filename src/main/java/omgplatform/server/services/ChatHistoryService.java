@@ -0,0 +1,351 @@
+package omgplatform.server.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.ChatHistoryPage;
+import omgplatform.server.dto.RawJson;
+import omgplatform.server.dto.WebSocketMessage;
+import omgplatform.server.utils.WebSocketCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Persists chat messages and serves them back as paged history.
+ *
+ * Messages are appended to a bounded in-memory queue and written by a
+ * single background thread, so publishing a chat message never waits on
+ * the database. The writer takes whatever is queued (lingering briefly
+ * for more, up to the batch size) and inserts it as one JDBC batch. If
+ * the queue is full, messages are dropped from history and counted; they
+ * are still delivered live.
+ *
+ * The messages table is partitioned by month; this service creates the
+ * current month's partition and the next ones before they are needed.
+ *
+ * History is read newest first with keyset pagination on (sent_at, id),
+ * so every page is an index range scan whatever its depth. It is only
+ * served through the WebSocket HISTORY message, whose sender must be
+ * subscribed to the topic on the node it is connected to.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatHistoryService {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String INSERT =
+            "INSERT INTO messages (topic, sender, payload, sent_at) VALUES (?, ?, ?, ?)";
+
+    private static final String SELECT_PAGE = """
+            SELECT id, topic, sender, payload, sent_at FROM messages
+            WHERE topic = ? AND (sent_at, id) < (?, ?)
+            ORDER BY sent_at DESC, id DESC
+            LIMIT ?""";
+
+    @Value("${chat.history.enabled:true}")
+    private boolean enabled;
+
+    // Messages waiting to be written; appends beyond this are dropped from history
+    @Value("${chat.history.queue-capacity:10000}")
+    private int queueCapacity;
+
+    // Most messages per INSERT batch
+    @Value("${chat.history.batch-size:500}")
+    private int batchSize;
+
+    // How long the writer waits for a batch to fill once it has a message
+    @Value("${chat.history.linger-ms:20}")
+    private long lingerMs;
+
+    // Months of partitions created beyond the current one
+    @Value("${chat.history.partitions-ahead:1}")
+    private int partitionsAhead;
+
+    private BlockingQueue<WebSocketMessage> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    // Last month that has a partition (only touched by the writer and at startup)
+    private YearMonth partitionedThrough;
+
+    // Counters
+    private final LongAdder appendedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAccumulator maxFlushSize = new LongAccumulator(Math::max, 0);
+    private final LongAdder flushNanos = new LongAdder();
+
+    // When the writer started, for the overall write rate
+    private volatile long startedAt = System.nanoTime();
+    private final LongAdder flushLagMillis = new LongAdder();
+    private final LongAccumulator maxFlushLagMillis = new LongAccumulator(Math::max, 0);
+
+    // Dependencies
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Create the upcoming partitions and start the writer.
+     */
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        ensurePartitions();
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        startedAt = System.nanoTime();
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("chat-history-writer")
+                .daemon(true)
+                .start(this::runWriter);
+    }
+
+    /**
+     * Queue a chat message to be persisted. Never blocks.
+     *
+     * @param message The published message (with topic and sender set)
+     */
+    public void append(WebSocketMessage message) {
+        if (!enabled) {
+            return;
+        }
+
+        appendedCount.increment();
+        if (!queue.offer(message)) {
+            droppedCount.increment();
+        }
+    }
+
+    /**
+     * Get a page of a topic's history, newest first.
+     *
+     * @param topic The topic
+     * @param before The nextBefore value of the previous page, or null for the newest messages
+     * @param limit The most messages to return
+     * @return The page and the value to pass as before for the next one
+     * @throws IllegalArgumentException if before is malformed
+     */
+    public ChatHistoryPage getHistory(String topic, String before, int limit) {
+        long startTime = System.currentTimeMillis();
+
+        // (sent_at, id) of the oldest message already seen; the first page starts past the newest possible row
+        OffsetDateTime beforeTime = OffsetDateTime.of(9999, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        long beforeId = Long.MAX_VALUE;
+        if (before != null && !before.isEmpty()) {
+            String[] parts = before.split("_", 2);
+            try {
+                beforeTime = toTime(Long.parseLong(parts[0]));
+                beforeId = Long.parseLong(parts[1]);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid History Cursor: " + before);
+            }
+        }
+
+        long[] lastId = new long[1];
+        List<WebSocketMessage> messages = jdbcTemplate.query(SELECT_PAGE, (rs, row) -> {
+            lastId[0] = rs.getLong("id");
+            String payload = rs.getString("payload");
+            WebSocketMessage message = WebSocketMessage.of("MESSAGE", payload != null
+                    ? new RawJson(payload, payload.getBytes(StandardCharsets.UTF_8).length)
+                    : null);
+            message.setTopic(rs.getString("topic"));
+            message.setSender(rs.getString("sender"));
+            message.setTimestamp(rs.getTimestamp("sent_at").getTime());
+            return message;
+        }, topic, beforeTime, beforeId, limit);
+
+        String nextBefore = messages.size() < limit
+                ? null
+                : messages.get(messages.size() - 1).getTimestamp() + "_" + lastId[0];
+
+        log.debug("DB operation: SELECT messages - {}ms", System.currentTimeMillis() - startTime);
+        return new ChatHistoryPage(messages, nextBefore);
+    }
+
+    /**
+     * Get history writer statistics for monitoring.
+     *
+     * @return Writer counters keyed by name
+     */
+    public Map<String, Object> getStats() {
+        long flushes = flushCount.sum();
+        long written = writtenCount.sum();
+        long nanos = flushNanos.sum();
+        long elapsed = System.nanoTime() - startedAt;
+        return Map.ofEntries(
+            Map.entry("enabled", enabled),
+            Map.entry("queued", queue != null ? queue.size() : 0),
+            Map.entry("appended", appendedCount.sum()),
+            Map.entry("dropped", droppedCount.sum()),
+            Map.entry("written", written),
+            Map.entry("failed", failedCount.sum()),
+            Map.entry("flushes", flushes),
+            Map.entry("avgFlushSize", flushes > 0 ? (double) written / flushes : 0.0),
+            Map.entry("maxFlushSize", maxFlushSize.get()),
+            Map.entry("avgFlushLagMs", flushes > 0 ? flushLagMillis.sum() / flushes : 0),
+            Map.entry("maxFlushLagMs", maxFlushLagMillis.get()),
+            Map.entry("writesPerSecond", elapsed > 0 ? written * 1_000_000_000L / elapsed : 0),
+            Map.entry("flushRowsPerSecond", nanos > 0 ? written * 1_000_000_000L / nanos : 0)
+        );
+    }
+
+    /**
+     * Stop the writer and persist whatever is still queued.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (writer == null) {
+            return;
+        }
+
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<WebSocketMessage> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int from = 0; from < rest.size(); from += batchSize) {
+            flush(rest.subList(from, Math.min(from + batchSize, rest.size())));
+        }
+    }
+
+    /**
+     * Writer loop: wait for a message, gather a batch, write it.
+     */
+    private void runWriter() {
+        List<WebSocketMessage> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    WebSocketMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Insert a batch, creating partitions and retrying once if the insert fails.
+     */
+    private void flush(List<WebSocketMessage> batch) {
+        long startTime = System.nanoTime();
+        try {
+            if (YearMonth.now(ZoneOffset.UTC).plusMonths(partitionsAhead).isAfter(partitionedThrough)) {
+                ensurePartitions();
+            }
+            try {
+                insert(batch);
+            } catch (DataAccessException e) {
+                // Most likely a message outside the existing partitions
+                ensurePartitions();
+                insert(batch);
+            }
+        } catch (RuntimeException e) {
+            failedCount.add(batch.size());
+            log.error("Failed to write chat history", Map.of("messages", batch.size()), e);
+            return;
+        }
+
+        long elapsed = System.nanoTime() - startTime;
+        long lag = System.currentTimeMillis() - batch.get(0).getTimestamp();
+        flushCount.increment();
+        writtenCount.add(batch.size());
+        maxFlushSize.accumulate(batch.size());
+        flushNanos.add(elapsed);
+        flushLagMillis.add(lag);
+        maxFlushLagMillis.accumulate(lag);
+    }
+
+    private void insert(List<WebSocketMessage> batch) {
+        jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (ps, message) -> {
+            ps.setString(1, message.getTopic());
+            ps.setString(2, message.getSender());
+            ps.setString(3, toJson(message.getPayload()));
+            ps.setObject(4, toTime(message.getTimestamp()));
+        });
+    }
+
+    /**
+     * Create the partitions for the current month and the months ahead, if missing.
+     */
+    private void ensurePartitions() {
+        YearMonth month = YearMonth.now(ZoneOffset.UTC);
+        YearMonth last = month.plusMonths(partitionsAhead);
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS messages_" + month.format(PARTITION_SUFFIX)
+                    + " PARTITION OF messages FOR VALUES FROM ('" + month.atDay(1) + " 00:00:00+00')"
+                    + " TO ('" + month.plusMonths(1).atDay(1) + " 00:00:00+00')");
+        }
+        partitionedThrough = last;
+        log.debug("Chat history partitions ready", Map.of("through", last.toString()));
+    }
+
+    private static OffsetDateTime toTime(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atOffset(ZoneOffset.UTC);
+    }
+
+    private static String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        if (payload instanceof RawJson raw) {
+            return raw.getJson();
+        }
+        try {
+            return WebSocketCodec.JSON.getMapper().writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Chat payload is not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package omgplatform.server.services;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.ClusterEnvelope;
+import omgplatform.server.dto.WebSocketMessage;
+import omgplatform.server.utils.SequenceWindow;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Carries WebSocket broadcasts between the nodes of a cluster.
+ *
+ * Each node publishes a message once; every other node receives it and
+ * fans it out to its own sessions only. Envelopes are stamped with the
+ * origin node id and a per-node sequence number, and receivers drop
+ * their own envelopes and any sequence they have already seen from
+ * that origin. Envelopes may arrive out of order (concurrent publishers,
+ * UDP); a sliding window per origin accepts each sequence once.
+ *
+ * Implementations only have to move envelopes between nodes (transmit)
+ * and hand incoming ones to receive.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Slf4j
+public abstract class ClusterBus {
+
+    // Id of this node
+    @Getter
+    private final String nodeId;
+
+    // Next sequence number for envelopes published by this node
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Sequence numbers tracked behind the highest one seen from an origin
+    private static final int WINDOW_SIZE = 4096;
+
+    // Sequences seen from each origin node
+    private final Map<String, SequenceWindow> seen = new ConcurrentHashMap<>();
+
+    private final List<Consumer<ClusterEnvelope>> listeners = new CopyOnWriteArrayList<>();
+
+    // Counters
+    private final LongAdder publishedCount = new LongAdder();
+    private final LongAdder receivedCount = new LongAdder();
+    private final LongAdder duplicateCount = new LongAdder();
+
+    /**
+     * Create a bus for a node.
+     *
+     * @param nodeId Id of this node (a random id is used when blank)
+     */
+    protected ClusterBus(String nodeId) {
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+    }
+
+    /**
+     * Publish a message to the other nodes.
+     *
+     * @param topic The topic to deliver to, or null for all authenticated sessions
+     * @param message The message to deliver
+     */
+    public void publish(String topic, WebSocketMessage message) {
+        ClusterEnvelope envelope = new ClusterEnvelope(nodeId, sequence.incrementAndGet(), topic, message);
+        try {
+            transmit(envelope);
+            publishedCount.increment();
+        } catch (Exception e) {
+            log.error("Failed to publish cluster message", e);
+        }
+    }
+
+    /**
+     * Register a listener for messages from other nodes.
+     *
+     * @param listener Called once per new remote envelope
+     */
+    public void subscribe(Consumer<ClusterEnvelope> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Get bus statistics for monitoring.
+     *
+     * @return Bus counters keyed by name
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "nodeId", nodeId,
+            "published", publishedCount.sum(),
+            "received", receivedCount.sum(),
+            "duplicatesDropped", duplicateCount.sum(),
+            "knownNodes", seen.size()
+        );
+    }
+
+    /**
+     * Send an envelope to the other nodes.
+     *
+     * @param envelope The envelope to send
+     * @throws Exception if the envelope cannot be sent
+     */
+    protected abstract void transmit(ClusterEnvelope envelope) throws Exception;
+
+    /**
+     * Handle an envelope arriving from the transport.
+     *
+     * @param envelope The received envelope
+     */
+    protected void receive(ClusterEnvelope envelope) {
+        if (nodeId.equals(envelope.getOriginNode())) {
+            return;
+        }
+
+        SequenceWindow window = seen.computeIfAbsent(envelope.getOriginNode(), node -> new SequenceWindow(WINDOW_SIZE));
+        if (!window.accept(envelope.getSequence())) {
+            duplicateCount.increment();
+            return;
+        }
+
+        receivedCount.increment();
+        for (Consumer<ClusterEnvelope> listener : listeners) {
+            try {
+                listener.accept(envelope);
+            } catch (Exception e) {
+                log.error("Cluster listener failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package omgplatform.server.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.utils.SharedFrame;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fans WebSocket frames out to many sessions.
+ *
+ * Two modes are supported (websocket.fanout.mode):
+ * - serial: queue the frame for every recipient on the calling thread
+ * - parallel: partition the recipients into lanes and queue on an executor
+ *
+ * In parallel mode each session is pinned to one lane by its id, and every
+ * lane runs its tasks one at a time in submission order, so frames for one
+ * session keep their order. Lanes run on virtual threads or on a bounded
+ * carrier pool (websocket.fanout.executor).
+ *
+ * Fan-out completion latency is recorded for both modes so they can be compared.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FanoutService {
+
+    @Value("${websocket.fanout.mode:parallel}")
+    private String mode;
+
+    @Value("${websocket.fanout.executor:virtual}")
+    private String executorType;
+
+    @Value("${websocket.fanout.pool-size:0}")
+    private int poolSize;
+
+    @Value("${websocket.fanout.lanes:0}")
+    private int laneCount;
+
+    // Dependencies
+    private final WebSocketOutboundService outboundService;
+
+    private ExecutorService executor;
+    private Lane[] lanes;
+
+    // Completion latency counters
+    private final LongAdder fanoutCount = new LongAdder();
+    private final LongAdder fanoutNanos = new LongAdder();
+    private final AtomicLong maxFanoutNanos = new AtomicLong();
+    private final LongAdder deliveredCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * Create the lanes and their executor.
+     */
+    @PostConstruct
+    public void init() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int size = laneCount > 0 ? laneCount : processors;
+
+        if ("pool".equalsIgnoreCase(executorType)) {
+            int threads = poolSize > 0 ? poolSize : processors;
+            executor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("ws-fanout-", 0).factory());
+        } else {
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ws-fanout-", 0).factory());
+        }
+
+        lanes = new Lane[size];
+        for (int i = 0; i < size; i++) {
+            lanes[i] = new Lane();
+        }
+
+        log.info("WebSocket fan-out initialized", Map.of(
+            "mode", mode,
+            "executor", executorType,
+            "lanes", size
+        ));
+    }
+
+    /**
+     * Queue one frame for every open recipient.
+     *
+     * @param recipients The target sessions
+     * @param frame The message, encoded once per codec and shared by all recipients
+     */
+    public void fanout(Collection<WebSocketSession> recipients, SharedFrame frame) {
+        long startTime = System.nanoTime();
+
+        if (!isParallel()) {
+            recipients.forEach(session -> deliver(session, frame));
+            recordCompletion(startTime);
+            return;
+        }
+
+        // Partition recipients by lane so each session always lands on the same one
+        List<List<WebSocketSession>> partitions = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (WebSocketSession session : recipients) {
+            partitions.get(laneIndex(session)).add(session);
+        }
+
+        int nonEmpty = (int) partitions.stream().filter(p -> !p.isEmpty()).count();
+        if (nonEmpty == 0) {
+            recordCompletion(startTime);
+            return;
+        }
+
+        AtomicInteger remaining = new AtomicInteger(nonEmpty);
+        for (int i = 0; i < lanes.length; i++) {
+            List<WebSocketSession> partition = partitions.get(i);
+            if (partition.isEmpty()) {
+                continue;
+            }
+            lanes[i].submit(() -> {
+                partition.forEach(session -> deliver(session, frame));
+                if (remaining.decrementAndGet() == 0) {
+                    recordCompletion(startTime);
+                }
+            });
+        }
+    }
+
+    /**
+     * Queue a frame for a single session, keeping its order relative to fan-outs.
+     *
+     * @param session The target session
+     * @param frame The message to send
+     */
+    public void send(WebSocketSession session, SharedFrame frame) {
+        if (!isParallel()) {
+            deliver(session, frame);
+            return;
+        }
+        lanes[laneIndex(session)].submit(() -> deliver(session, frame));
+    }
+
+    /**
+     * Get fan-out statistics for monitoring.
+     *
+     * @return Fan-out counters keyed by name
+     */
+    public Map<String, Object> getStats() {
+        long count = fanoutCount.sum();
+        return Map.of(
+            "mode", mode,
+            "executor", executorType,
+            "fanouts", count,
+            "avgCompletionMicros", count > 0 ? fanoutNanos.sum() / count / 1000 : 0,
+            "maxCompletionMicros", maxFanoutNanos.get() / 1000,
+            "delivered", deliveredCount.sum(),
+            "rejected", rejectedCount.sum()
+        );
+    }
+
+    /**
+     * Stop the fan-out executor on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        log.info("Shutting down WebSocket fan-out executor");
+        executor.shutdownNow();
+    }
+
+    private boolean isParallel() {
+        return "parallel".equalsIgnoreCase(mode);
+    }
+
+    private int laneIndex(WebSocketSession session) {
+        return Math.floorMod(session.getId().hashCode(), lanes.length);
+    }
+
+    private void deliver(WebSocketSession session, SharedFrame frame) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            if (outboundService.send(session, frame.forSession(session), frame.getType())) {
+                deliveredCount.increment();
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to prepare frame for session: " + session.getId(), e);
+        }
+        rejectedCount.increment();
+    }
+
+    private void recordCompletion(long startTime) {
+        long elapsed = System.nanoTime() - startTime;
+        fanoutCount.increment();
+        fanoutNanos.add(elapsed);
+        maxFanoutNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    /**
+     * Runs submitted tasks one at a time, in order, on the shared executor.
+     */
+    private class Lane {
+
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        void submit(Runnable task) {
+            tasks.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!running.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                running.set(false);
+                log.error("Fan-out lane rejected by executor", e);
+            }
+        }
+
+        private void drain() {
+            try {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    try {
+                        task.run();
+                    } catch (Exception e) {
+                        log.error("Fan-out task failed", e);
+                    }
+                }
+            } finally {
+                running.set(false);
+            }
+
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
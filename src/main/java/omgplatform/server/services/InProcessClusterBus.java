@@ -0,0 +1,63 @@
+package omgplatform.server.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.ClusterEnvelope;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Cluster bus connecting every node running in the same JVM.
+ *
+ * This is the default bus. With a single application context it has no
+ * peers and publishing costs nothing; with several contexts in one JVM
+ * (e.g. integration tests) they behave like a cluster.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Service
+@ConditionalOnProperty(name = "cluster.bus", havingValue = "in-process", matchIfMissing = true)
+@Slf4j
+public class InProcessClusterBus extends ClusterBus {
+
+    // Every bus instance in this JVM
+    private static final List<InProcessClusterBus> MEMBERS = new CopyOnWriteArrayList<>();
+
+    public InProcessClusterBus(@Value("${cluster.node-id:}") String nodeId) {
+        super(nodeId);
+    }
+
+    /**
+     * Join the in-process cluster.
+     */
+    @PostConstruct
+    public void join() {
+        MEMBERS.add(this);
+        log.info("Joined in-process cluster bus", Map.of("nodeId", getNodeId(), "members", MEMBERS.size()));
+    }
+
+    /**
+     * Leave the in-process cluster on shutdown.
+     */
+    @PreDestroy
+    public void leave() {
+        MEMBERS.remove(this);
+    }
+
+    @Override
+    protected void transmit(ClusterEnvelope envelope) {
+        for (InProcessClusterBus member : MEMBERS) {
+            if (member != this) {
+                member.receive(envelope);
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package omgplatform.server.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for last-login timestamps.
+ *
+ * Logins record their timestamp here instead of saving the user, so the
+ * login path never waits on a write. Timestamps are coalesced per user
+ * (only the latest is kept) and flushed periodically as batched
+ * UPDATE ... FROM (VALUES ...) statements that touch last_login only.
+ *
+ * Entries from a failed flush are put back and retried on the next one.
+ * Whatever is still buffered at shutdown is flushed before the database
+ * connection closes; a crash loses at most one interval of timestamps.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LastLoginService {
+
+    // Whether timestamps are buffered (otherwise each is written immediately)
+    @Value("${users.last-login.write-behind.enabled:true}")
+    private boolean enabled;
+
+    @Value("${users.last-login.write-behind.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    // Rows per UPDATE statement
+    @Value("${users.last-login.write-behind.batch-size:500}")
+    private int batchSize;
+
+    // Latest unwritten login per user id
+    private final Map<Long, OffsetDateTime> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flushScheduler;
+
+    // Counters
+    private final LongAdder recordedCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder failedFlushCount = new LongAdder();
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final LongAccumulator maxFlushNanos = new LongAccumulator(Math::max, 0);
+
+    // Dependencies
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Start the periodic flush.
+     */
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        flushScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("last-login-flush")
+                .daemon(true)
+                .factory());
+        flushScheduler.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record a login, to be written with the next flush.
+     *
+     * @param userId The user who logged in
+     * @param at When they logged in
+     */
+    public void record(Long userId, OffsetDateTime at) {
+        recordedCount.increment();
+        if (!enabled) {
+            write(List.of(Map.entry(userId, at)));
+            return;
+        }
+
+        if (pending.putIfAbsent(userId, at) != null) {
+            coalescedCount.increment();
+            pending.merge(userId, at, (previous, next) -> next.isAfter(previous) ? next : previous);
+        }
+    }
+
+    /**
+     * Get write-behind statistics for monitoring.
+     *
+     * @return Buffer counters keyed by name
+     */
+    public Map<String, Object> getStats() {
+        long flushes = flushCount.sum();
+        return Map.of(
+            "enabled", enabled,
+            "depth", pending.size(),
+            "recorded", recordedCount.sum(),
+            "coalesced", coalescedCount.sum(),
+            "written", writtenCount.sum(),
+            "flushes", flushes,
+            "failedFlushes", failedFlushCount.sum(),
+            "avgFlushMicros", flushes > 0 ? flushNanos.sum() / flushes / 1000 : 0,
+            "maxFlushMicros", maxFlushNanos.get() / 1000
+        );
+    }
+
+    /**
+     * Stop the periodic flush and write what is left.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (flushScheduler == null) {
+            return;
+        }
+
+        flushScheduler.shutdown();
+        try {
+            flushScheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+
+        if (!pending.isEmpty()) {
+            log.warn("Last-login timestamps lost at shutdown", Map.of("users", pending.size()));
+        }
+    }
+
+    /**
+     * Write everything buffered so far, one batch at a time.
+     */
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, OffsetDateTime>> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+        for (Long userId : pending.keySet()) {
+            OffsetDateTime at = pending.remove(userId);
+            if (at != null) {
+                batch.add(Map.entry(userId, at));
+            }
+            if (batch.size() == batchSize) {
+                flushBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flushBatch(batch);
+        }
+    }
+
+    private void flushBatch(List<Map.Entry<Long, OffsetDateTime>> batch) {
+        long startTime = System.nanoTime();
+        try {
+            write(batch);
+            long elapsed = System.nanoTime() - startTime;
+            flushCount.increment();
+            flushNanos.add(elapsed);
+            maxFlushNanos.accumulate(elapsed);
+        } catch (RuntimeException e) {
+            failedFlushCount.increment();
+            log.error("Failed to flush last-login timestamps", Map.of("rows", batch.size()), e);
+
+            // Put the entries back unless a newer login has been recorded since
+            for (Map.Entry<Long, OffsetDateTime> entry : batch) {
+                pending.merge(entry.getKey(), entry.getValue(), (newer, failed) -> newer.isAfter(failed) ? newer : failed);
+            }
+        }
+    }
+
+    /**
+     * Update last_login for a batch of users in one statement.
+     *
+     * Only moves timestamps forward, and leaves updated_at alone since the
+     * account itself did not change.
+     */
+    private void write(List<Map.Entry<Long, OffsetDateTime>> batch) {
+        String values = String.join(", ", Collections.nCopies(batch.size(), "(?::bigint, ?::timestamptz)"));
+        String sql = "UPDATE users AS u SET last_login = v.last_login "
+                + "FROM (VALUES " + values + ") AS v(id, last_login) "
+                + "WHERE u.id = v.id AND (u.last_login IS NULL OR u.last_login < v.last_login)";
+
+        Object[] args = new Object[batch.size() * 2];
+        for (int i = 0; i < batch.size(); i++) {
+            args[i * 2] = batch.get(i).getKey();
+            args[i * 2 + 1] = batch.get(i).getValue();
+        }
+        jdbcTemplate.update(sql, args);
+        writtenCount.add(batch.size());
+    }
+}
@@ -0,0 +1,103 @@
+package omgplatform.server.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.ClusterEnvelope;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cluster bus that exchanges envelopes as UDP datagrams on the loopback interface.
+ *
+ * Each node listens on cluster.loopback.port and sends every envelope to
+ * the ports listed in cluster.loopback.peers. Meant for running several
+ * nodes on one machine in tests; envelopes larger than one datagram are
+ * dropped.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Service
+@ConditionalOnProperty(name = "cluster.bus", havingValue = "loopback")
+@Slf4j
+public class LoopbackClusterBus extends ClusterBus {
+
+    // Largest UDP payload
+    private static final int MAX_DATAGRAM_SIZE = 65507;
+
+    @Value("${cluster.loopback.port:9700}")
+    private int port;
+
+    @Value("${cluster.loopback.peers:}")
+    private List<Integer> peerPorts;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private DatagramSocket socket;
+    private Thread receiver;
+
+    public LoopbackClusterBus(@Value("${cluster.node-id:}") String nodeId) {
+        super(nodeId);
+    }
+
+    /**
+     * Bind the loopback socket and start receiving.
+     *
+     * @throws IOException if the port cannot be bound
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        socket = new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        receiver = Thread.ofVirtual().name("cluster-loopback-receiver").start(this::receiveLoop);
+        log.info("Loopback cluster bus started", Map.of("nodeId", getNodeId(), "port", port, "peers", peerPorts));
+    }
+
+    /**
+     * Close the socket on shutdown.
+     */
+    @PreDestroy
+    public void stop() {
+        socket.close();
+        receiver.interrupt();
+    }
+
+    @Override
+    protected void transmit(ClusterEnvelope envelope) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(envelope);
+        if (bytes.length > MAX_DATAGRAM_SIZE) {
+            log.warn("Cluster envelope too large for a datagram", Map.of("size", bytes.length));
+            return;
+        }
+
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        for (int peerPort : peerPorts) {
+            socket.send(new DatagramPacket(bytes, bytes.length, loopback, peerPort));
+        }
+    }
+
+    private void receiveLoop() {
+        byte[] buffer = new byte[MAX_DATAGRAM_SIZE];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                receive(objectMapper.readValue(packet.getData(), packet.getOffset(), packet.getLength(), ClusterEnvelope.class));
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.error("Failed to receive cluster envelope", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package omgplatform.server.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs password hashing on a dedicated, bounded executor.
+ *
+ * BCrypt is deliberately slow, so a burst of logins would otherwise use up
+ * every request thread on hashing. Hashes run on a fixed pool sized to
+ * the CPU count with a bounded queue. When the queue is full the request
+ * is rejected straight away with 503 and a Retry-After header instead of
+ * waiting, so the rest of the server stays responsive.
+ *
+ * Time spent waiting in the queue and time spent hashing are tracked
+ * separately.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordHashingService {
+
+    // Hashing threads (0 = number of processors)
+    @Value("${security.hashing.threads:0}")
+    private int threads;
+
+    // Hashes allowed to wait for a thread before requests are rejected
+    @Value("${security.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    // Retry-After sent with rejected requests
+    @Value("${security.hashing.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    // Hashes all bulk jobs together may run at once (0 = half the pool)
+    @Value("${security.hashing.bulk-threads:0}")
+    private int bulkThreads;
+
+    private ThreadPoolExecutor executor;
+
+    // Permits for bulk hashes, always fewer than the pool threads
+    private int bulkLimit;
+    private Semaphore bulkPermits;
+
+    // Counters
+    private final LongAdder hashCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+
+    // Dependencies
+    private final BCryptPasswordEncoder passwordEncoder;
+
+    /**
+     * Start the hashing pool.
+     */
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        bulkLimit = Math.max(1, Math.min(bulkThreads > 0 ? bulkThreads : poolSize / 2, poolSize - 1));
+        bulkPermits = new Semaphore(bulkLimit);
+
+        log.info("Password hashing pool started", Map.of(
+            "threads", poolSize,
+            "bulkThreads", bulkLimit,
+            "queueCapacity", queueCapacity
+        ));
+    }
+
+    /**
+     * Hash a password.
+     *
+     * @param rawPassword The password to hash
+     * @return The encoded hash
+     * @throws OverloadedException if the hashing queue is full
+     */
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Hash many passwords in parallel on the hashing pool.
+     *
+     * All bulk jobs share security.hashing.bulk-threads permits, which are
+     * fewer than the pool threads (unless the pool has only one), so logins
+     * always have a thread free no matter how many bulk jobs run. Each hash takes a permit before it is
+     * queued and returns it when done. When logins have filled the queue,
+     * submission backs off and retries rather than failing.
+     *
+     * @param rawPasswords The passwords to hash
+     * @return The encoded hashes, in the same order
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        Deque<Future<String>> inFlight = new ArrayDeque<>();
+
+        for (String rawPassword : rawPasswords) {
+            acquireBulkPermit();
+            try {
+                inFlight.add(submitWithBackoff(() -> {
+                    try {
+                        return passwordEncoder.encode(rawPassword);
+                    } finally {
+                        bulkPermits.release();
+                    }
+                }));
+            } catch (RuntimeException e) {
+                bulkPermits.release();
+                throw e;
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            hashes.add(await(inFlight.poll()));
+        }
+        return hashes;
+    }
+
+    /**
+     * Check a password against a stored hash.
+     *
+     * @param rawPassword The password to check
+     * @param encodedPassword The stored hash
+     * @return Whether the password matches
+     * @throws OverloadedException if the hashing queue is full
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Get hashing statistics for monitoring.
+     *
+     * @return Hashing counters keyed by name
+     */
+    public Map<String, Object> getStats() {
+        long hashes = hashCount.sum();
+        return Map.of(
+            "threads", executor.getMaximumPoolSize(),
+            "bulkInUse", bulkLimit - bulkPermits.availablePermits(),
+            "queued", executor.getQueue().size(),
+            "hashes", hashes,
+            "rejected", rejectedCount.sum(),
+            "avgQueueWaitMicros", hashes > 0 ? queueWaitNanos.sum() / hashes / 1000 : 0,
+            "avgHashMicros", hashes > 0 ? hashNanos.sum() / hashes / 1000 : 0
+        );
+    }
+
+    /**
+     * Stop the hashing pool.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> hash) {
+        Future<T> future;
+        try {
+            future = submit(hash);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            log.warn("Password hashing queue full, rejecting request");
+            throw new OverloadedException(retryAfterSeconds);
+        }
+        return await(future);
+    }
+
+    private <T> Future<T> submit(Callable<T> hash) {
+        long submitTime = System.nanoTime();
+        return executor.submit(() -> {
+            long startTime = System.nanoTime();
+            queueWaitNanos.add(startTime - submitTime);
+            try {
+                return hash.call();
+            } finally {
+                hashNanos.add(System.nanoTime() - startTime);
+                hashCount.increment();
+            }
+        });
+    }
+
+    private void acquireBulkPermit() {
+        try {
+            bulkPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hash", e);
+        }
+    }
+
+    private <T> Future<T> submitWithBackoff(Callable<T> hash) {
+        while (true) {
+            try {
+                return submit(hash);
+            } catch (RejectedExecutionException e) {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for password hash", interrupted);
+                }
+            }
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new IllegalStateException("Interrupted while waiting for password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Thrown when the hashing queue is full. Resolved by Spring as
+     * 503 Service Unavailable with a Retry-After header.
+     */
+    public static class OverloadedException extends ResponseStatusException {
+
+        private final int retryAfterSeconds;
+
+        public OverloadedException(int retryAfterSeconds) {
+            super(HttpStatus.SERVICE_UNAVAILABLE, "Server busy, please retry");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package omgplatform.server.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.PresenceDelta;
+import omgplatform.server.dto.PresencePage;
+import omgplatform.server.dto.PresenceUser;
+import omgplatform.server.dto.SessionPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Tracks which users are online on this node, by user id.
+ *
+ * A user is online while at least one of their sessions is authenticated;
+ * opening a second tab or reconnecting does not change their presence.
+ * Users going online or offline are collected and sent once per interval
+ * as a single delta, instead of one notice per connection. A user who
+ * goes offline and comes back within the interval (or the reverse)
+ * cancels out and is not reported.
+ *
+ * Presence is per node: a user is online here while they have a session
+ * on this node. Deltas are only sent to this node's sessions (never over
+ * the cluster bus, where a user leaving one node could be announced as
+ * offline while still connected to another), so the snapshot, the
+ * deltas and their online counts all describe the same roster.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class PresenceService {
+
+    @Value("${presence.delta-interval-ms:1000}")
+    private long deltaIntervalMs;
+
+    // Online users by id, ordered so snapshots can be paged by id
+    private final ConcurrentSkipListMap<Long, PresenceUser> online = new ConcurrentSkipListMap<>();
+
+    // Changes since the last delta, by user id
+    private final Map<Long, PresenceUser> pendingJoins = new ConcurrentHashMap<>();
+    private final Map<Long, PresenceUser> pendingLeaves = new ConcurrentHashMap<>();
+
+    private final List<Consumer<PresenceDelta>> listeners = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService deltaScheduler;
+
+    // Counters
+    private final LongAdder transitionCount = new LongAdder();
+    private final LongAdder cancelledCount = new LongAdder();
+    private final LongAdder deltaCount = new LongAdder();
+
+    /**
+     * Start sending deltas.
+     */
+    @PostConstruct
+    public void init() {
+        deltaScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("presence-delta")
+                .daemon(true)
+                .factory());
+        deltaScheduler.scheduleWithFixedDelay(this::flush, deltaIntervalMs, deltaIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Register a listener for presence deltas.
+     *
+     * @param listener Called once per interval with changes
+     */
+    public void subscribe(Consumer<PresenceDelta> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Record a newly authenticated session.
+     * Sessions from tokens without a user id are not tracked.
+     *
+     * @param principal The session's user
+     */
+    public void connected(SessionPrincipal principal) {
+        if (principal.getUserId() == null) {
+            return;
+        }
+
+        PresenceUser user = online.compute(principal.getUserId(), (id, current) -> new PresenceUser(
+                id, principal.getUsername(), current != null ? current.getSessions() + 1 : 1));
+        if (user.getSessions() == 1) {
+            transition(user.getUserId(), pendingLeaves, pendingJoins, user);
+        }
+    }
+
+    /**
+     * Record a closed authenticated session.
+     *
+     * @param principal The session's user
+     */
+    public void disconnected(SessionPrincipal principal) {
+        if (principal.getUserId() == null) {
+            return;
+        }
+
+        // Set on every application of the function, so it reflects the one that took effect
+        boolean[] lastSession = new boolean[1];
+        online.computeIfPresent(principal.getUserId(), (id, current) -> {
+            lastSession[0] = current.getSessions() <= 1;
+            return lastSession[0] ? null : new PresenceUser(id, current.getUsername(), current.getSessions() - 1);
+        });
+        if (lastSession[0]) {
+            transition(principal.getUserId(), pendingJoins, pendingLeaves, new PresenceUser(
+                    principal.getUserId(), principal.getUsername(), null));
+        }
+    }
+
+    /**
+     * Get one page of the online users, ordered by user id.
+     *
+     * @param afterId The last user id of the previous page (0 for the first page)
+     * @param limit The most users to return
+     * @return The page and the id to continue after
+     */
+    public PresencePage getSnapshot(long afterId, int limit) {
+        List<PresenceUser> users = new ArrayList<>(limit);
+        for (PresenceUser user : online.tailMap(afterId, false).values()) {
+            if (users.size() == limit) {
+                break;
+            }
+            users.add(user);
+        }
+        Long nextAfter = users.size() < limit ? null : users.get(users.size() - 1).getUserId();
+        return new PresencePage(users, nextAfter, online.size());
+    }
+
+    /**
+     * Get presence statistics for monitoring.
+     *
+     * @return Presence counters keyed by name
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "online", online.size(),
+            "pendingJoins", pendingJoins.size(),
+            "pendingLeaves", pendingLeaves.size(),
+            "transitions", transitionCount.sum(),
+            "cancelled", cancelledCount.sum(),
+            "deltas", deltaCount.sum()
+        );
+    }
+
+    /**
+     * Stop sending deltas.
+     */
+    @PreDestroy
+    public void shutdown() {
+        deltaScheduler.shutdownNow();
+    }
+
+    /**
+     * Queue a user going online or offline, cancelling the opposite change
+     * if it is still waiting to be sent.
+     */
+    private void transition(Long userId, Map<Long, PresenceUser> opposite, Map<Long, PresenceUser> pending,
+                            PresenceUser user) {
+        transitionCount.increment();
+        if (opposite.remove(userId) != null) {
+            cancelledCount.increment();
+            return;
+        }
+        pending.put(userId, user);
+    }
+
+    /**
+     * Send the changes collected since the last delta, if any.
+     */
+    private void flush() {
+        if (pendingJoins.isEmpty() && pendingLeaves.isEmpty()) {
+            return;
+        }
+
+        List<PresenceUser> joined = drain(pendingJoins);
+        List<PresenceUser> left = drain(pendingLeaves);
+        if (joined.isEmpty() && left.isEmpty()) {
+            return;
+        }
+
+        PresenceDelta delta = new PresenceDelta(joined, left, online.size());
+        deltaCount.increment();
+        for (Consumer<PresenceDelta> listener : listeners) {
+            try {
+                listener.accept(delta);
+            } catch (Exception e) {
+                log.error("Presence listener failed", e);
+            }
+        }
+    }
+
+    private static List<PresenceUser> drain(Map<Long, PresenceUser> pending) {
+        List<PresenceUser> users = new ArrayList<>();
+        for (Long userId : pending.keySet()) {
+            PresenceUser user = pending.remove(userId);
+            if (user != null) {
+                users.add(new PresenceUser(user.getUserId(), user.getUsername(), null));
+            }
+        }
+        return users;
+    }
+}
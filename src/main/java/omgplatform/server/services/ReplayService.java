@@ -0,0 +1,151 @@
+package omgplatform.server.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.utils.ReplayRing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the replay ring of recent frames for each topic, so a client
+ * that reconnects can resume a topic from its last sequence number.
+ *
+ * Rings are only created for topics with subscribers on this node, and
+ * each holds at most max-bytes-per-ring of encoded frames (counted in
+ * their JSON encoding), so replay memory is bounded by max-topics times
+ * that limit. Rings live in memory on this node only. The epoch identifies this
+ * node's run: sequence numbers from another epoch (another node, or
+ * before a restart) cannot be resumed. Rings of topics that go quiet are
+ * dropped after the idle timeout; their next ring starts a fresh range
+ * of sequence numbers.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class ReplayService {
+
+    // Sequence numbers reserved for each ring
+    private static final long RING_RANGE = 1L << 32;
+
+    @Value("${websocket.replay.enabled:true}")
+    private boolean enabled;
+
+    // Frames kept per topic
+    @Value("${websocket.replay.capacity:256}")
+    private int capacity;
+
+    @Value("${websocket.replay.max-topics:1000}")
+    private long maxTopics;
+
+    // Encoded bytes kept per topic; the oldest frames are dropped beyond this
+    @Value("${websocket.replay.max-bytes-per-ring:262144}")
+    private long maxBytesPerRing;
+
+    @Value("${websocket.replay.idle-seconds:600}")
+    private long idleSeconds;
+
+    // Id of this node's run, sent to clients after authentication
+    @Getter
+    private final String epoch = UUID.randomUUID().toString();
+
+    // Base of the next ring's sequence range
+    private final AtomicLong nextBase = new AtomicLong();
+
+    // Rings keyed by topic (null when disabled)
+    private Cache<String, ReplayRing> rings;
+
+    // Counters
+    private final LongAdder resumeCount = new LongAdder();
+    private final LongAdder replayedCount = new LongAdder();
+    private final LongAdder snapshotCount = new LongAdder();
+
+    /**
+     * Build the ring cache if enabled.
+     */
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        rings = Caffeine.newBuilder()
+                .maximumSize(maxTopics)
+                .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                .build();
+        log.info("Replay rings enabled", Map.of(
+            "capacity", capacity,
+            "maxTopics", maxTopics,
+            "maxBytesPerRing", maxBytesPerRing
+        ));
+    }
+
+    /**
+     * Get the ring for a topic, creating it if needed. Only call this for
+     * topics with local subscribers; use find otherwise.
+     *
+     * @param topic The topic
+     * @return The ring, or null if replay is disabled
+     */
+    public ReplayRing ring(String topic) {
+        if (rings == null) {
+            return null;
+        }
+        return rings.get(topic, t -> new ReplayRing(capacity, nextBase.getAndAdd(RING_RANGE), maxBytesPerRing));
+    }
+
+    /**
+     * Get the ring for a topic if it exists.
+     *
+     * @param topic The topic
+     * @return The ring, or null if there is none
+     */
+    public ReplayRing find(String topic) {
+        return rings != null ? rings.getIfPresent(topic) : null;
+    }
+
+    /**
+     * Count a resume that replayed some frames.
+     *
+     * @param frames The number of frames replayed
+     */
+    public void recordResume(int frames) {
+        resumeCount.increment();
+        replayedCount.add(frames);
+    }
+
+    /**
+     * Count a resume that could not be served from the ring.
+     */
+    public void recordSnapshotRequired() {
+        snapshotCount.increment();
+    }
+
+    /**
+     * Get replay statistics for monitoring.
+     *
+     * @return Replay counters keyed by name
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "enabled", enabled,
+            "epoch", epoch,
+            "topics", rings != null ? rings.estimatedSize() : 0L,
+            "bytes", rings != null ? rings.asMap().values().stream().mapToLong(ReplayRing::getBytes).sum() : 0L,
+            "resumes", resumeCount.sum(),
+            "replayedFrames", replayedCount.sum(),
+            "snapshotsRequired", snapshotCount.sum()
+        );
+    }
+}
@@ -0,0 +1,161 @@
+package omgplatform.server.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which WebSocket sessions are subscribed to which topics (rooms).
+ *
+ * Keeps two concurrent indexes:
+ * - topic to subscriber sessions, used on every publish
+ * - session id to topics, used to clean up when a session closes
+ *
+ * Empty topics are removed so the index only holds active rooms.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class TopicService {
+
+    // Maximum length of a topic name
+    public static final int MAX_TOPIC_LENGTH = 64;
+
+    @Value("${websocket.topics.default:lobby}")
+    private String defaultTopic;
+
+    // Subscriber sessions keyed by topic
+    private final Map<String, Set<WebSocketSession>> subscribers = new ConcurrentHashMap<>();
+
+    // Subscribed topics keyed by session id
+    private final Map<String, Set<String>> topicsBySession = new ConcurrentHashMap<>();
+
+    /**
+     * Subscribe a session to a topic.
+     *
+     * @param session The WebSocket session
+     * @param topic The topic name
+     * @return Whether the session was newly subscribed
+     */
+    public boolean subscribe(WebSocketSession session, String topic) {
+        // Add inside compute so a concurrent removal of an empty topic cannot orphan the set
+        boolean[] added = new boolean[1];
+        subscribers.compute(topic, (t, sessions) -> {
+            Set<WebSocketSession> set = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+            added[0] = set.add(session);
+            return set;
+        });
+        topicsBySession
+                .computeIfAbsent(session.getId(), id -> ConcurrentHashMap.newKeySet())
+                .add(topic);
+
+        log.debug("Topic subscription", Map.of("sessionId", session.getId(), "topic", topic, "added", added[0]));
+        return added[0];
+    }
+
+    /**
+     * Unsubscribe a session from a topic.
+     *
+     * @param session The WebSocket session
+     * @param topic The topic name
+     * @return Whether the session was subscribed
+     */
+    public boolean unsubscribe(WebSocketSession session, String topic) {
+        Set<String> topics = topicsBySession.get(session.getId());
+        if (topics != null) {
+            topics.remove(topic);
+        }
+        return removeSubscriber(topic, session);
+    }
+
+    /**
+     * Unsubscribe a session from every topic it is in.
+     *
+     * @param session The WebSocket session
+     * @return The topics the session was subscribed to
+     */
+    public Set<String> unsubscribeAll(WebSocketSession session) {
+        Set<String> topics = topicsBySession.remove(session.getId());
+        if (topics == null) {
+            return Set.of();
+        }
+        topics.forEach(topic -> removeSubscriber(topic, session));
+        return topics;
+    }
+
+    /**
+     * Get the sessions subscribed to a topic.
+     *
+     * @param topic The topic name
+     * @return A live view of the subscribers (empty if none)
+     */
+    public Set<WebSocketSession> getSubscribers(String topic) {
+        return subscribers.getOrDefault(topic, Set.of());
+    }
+
+    /**
+     * Get the topics a session is subscribed to.
+     *
+     * @param session The WebSocket session
+     * @return The subscribed topics (empty if none)
+     */
+    public Set<String> getTopics(WebSocketSession session) {
+        return topicsBySession.getOrDefault(session.getId(), Set.of());
+    }
+
+    /**
+     * Check whether a session is subscribed to a topic.
+     *
+     * @param session The WebSocket session
+     * @param topic The topic name
+     * @return Whether the session is a subscriber
+     */
+    public boolean isSubscribed(WebSocketSession session, String topic) {
+        return getTopics(session).contains(topic);
+    }
+
+    /**
+     * Get the topic new sessions join after authenticating.
+     *
+     * @return The default topic, or null if disabled
+     */
+    public String getDefaultTopic() {
+        return defaultTopic == null || defaultTopic.isBlank() ? null : defaultTopic;
+    }
+
+    /**
+     * Check whether a topic name is acceptable.
+     *
+     * @param topic The topic name
+     * @return Whether the name is valid
+     */
+    public boolean isValidTopic(String topic) {
+        return topic != null && !topic.isBlank() && topic.length() <= MAX_TOPIC_LENGTH;
+    }
+
+    /**
+     * Get the number of active topics.
+     *
+     * @return Number of topics with at least one subscriber
+     */
+    public int getTopicCount() {
+        return subscribers.size();
+    }
+
+    private boolean removeSubscriber(String topic, WebSocketSession session) {
+        boolean[] removed = new boolean[1];
+        subscribers.computeIfPresent(topic, (t, sessions) -> {
+            removed[0] = sessions.remove(session);
+            return sessions.isEmpty() ? null : sessions;
+        });
+        return removed[0];
+    }
+}
@@ -0,0 +1,219 @@
+package omgplatform.server.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.entities.User;
+import omgplatform.server.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-through cache of user accounts, keyed by username and by id.
+ *
+ * User rows almost never change, so lookups are served from memory and
+ * only misses reach the database (through UserLookupService, so
+ * concurrent misses still share a query). Unknown usernames are cached
+ * too, with a shorter TTL, so repeated lookups of missing names stay
+ * cheap.
+ *
+ * Callers always get their own copy of a user, never the cached instance
+ * (which concurrent lookups share), so they may modify it freely.
+ *
+ * Entries are bounded in number and expire after a TTL. UserService
+ * invalidates or refreshes them whenever it writes a user. Other nodes
+ * only see a change once their entry expires.
+ *
+ * When disabled (the default outside application.properties, e.g. in the
+ * test profile) every call goes to the database.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserCacheService {
+
+    @Value("${users.cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${users.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${users.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    // TTL of cached "no such username" results
+    @Value("${users.cache.negative-ttl-seconds:5}")
+    private long negativeTtlSeconds;
+
+    // Caches (null when disabled)
+    private Cache<String, Optional<User>> byUsername;
+    private Cache<Long, User> byId;
+
+    // Dependencies
+    private final UserLookupService userLookupService;
+    private final UserRepository userRepository;
+
+    /**
+     * Build the caches if enabled.
+     */
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("User cache disabled");
+            return;
+        }
+
+        long ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        long negativeTtlNanos = Duration.ofSeconds(negativeTtlSeconds).toNanos();
+
+        byUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Optional<User>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Optional<User> value, long currentTime) {
+                        return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Optional<User> value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Optional<User> value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Find a user by username.
+     *
+     * @param username The username to look up
+     * @return The user, if found
+     */
+    public Optional<User> findByUsername(String username) {
+        if (byUsername == null || username == null) {
+            // Coalesced lookups share one instance too
+            return userLookupService.findByUsername(username).map(UserCacheService::copy);
+        }
+
+        Optional<User> user = byUsername.get(username, userLookupService::findByUsername);
+        user.ifPresent(found -> byId.put(found.getId(), found));
+        return user.map(UserCacheService::copy);
+    }
+
+    /**
+     * Find a user by id.
+     *
+     * @param id The user id
+     * @return The user, if found
+     */
+    public Optional<User> findById(Long id) {
+        if (byId == null || id == null) {
+            return id != null ? userRepository.findById(id) : Optional.empty();
+        }
+
+        User user = byId.get(id, key -> userRepository.findById(key).orElse(null));
+        if (user != null) {
+            byUsername.put(user.getUsername(), Optional.of(user));
+        }
+        return Optional.ofNullable(user).map(UserCacheService::copy);
+    }
+
+    /**
+     * Store a user that was just written, replacing any stale entries.
+     *
+     * @param user The saved user
+     */
+    public void put(User user) {
+        if (byUsername == null) {
+            return;
+        }
+        User cached = copy(user);
+        byUsername.put(cached.getUsername(), Optional.of(cached));
+        byId.put(cached.getId(), cached);
+    }
+
+    /**
+     * Drop a user from the cache, under both its id and its username.
+     *
+     * @param id The user id
+     * @param username The user's username (may be null if unknown)
+     */
+    public void invalidate(Long id, String username) {
+        if (byUsername == null) {
+            return;
+        }
+        if (username != null) {
+            byUsername.invalidate(username);
+        }
+        if (id != null) {
+            byId.invalidate(id);
+        }
+    }
+
+    /**
+     * Drop every cached user, after a bulk write that changed unknown rows.
+     */
+    public void invalidateAll() {
+        if (byUsername == null) {
+            return;
+        }
+        byUsername.invalidateAll();
+        byId.invalidateAll();
+    }
+
+    /**
+     * Get cache statistics for monitoring.
+     *
+     * @return Cache counters keyed by cache name
+     */
+    public Map<String, Object> getStats() {
+        if (byUsername == null) {
+            return Map.of("enabled", false);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", true);
+        stats.put("byUsername", toMap(byUsername.stats(), byUsername.estimatedSize()));
+        stats.put("byId", toMap(byId.stats(), byId.estimatedSize()));
+        return stats;
+    }
+
+    private static User copy(User user) {
+        return new User(user.getId(), user.getUsername(), user.getPassword(), user.getFullName(),
+                user.getDateOfBirth(), user.getLastLogin(), user.getCreated_at(), user.getUpdated_at());
+    }
+
+    private static Map<String, Object> toMap(CacheStats stats, long size) {
+        return Map.of(
+            "size", size,
+            "hits", stats.hitCount(),
+            "misses", stats.missCount(),
+            "hitRate", stats.hitRate(),
+            "evictions", stats.evictionCount()
+        );
+    }
+}
@@ -0,0 +1,227 @@
+package omgplatform.server.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.entities.User;
+import omgplatform.server.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces concurrent username lookups.
+ *
+ * Concurrent lookups for the same username share one in-flight query
+ * (single-flight). Lookups for different usernames that arrive within
+ * a short window are combined into one WHERE username IN (...) query,
+ * and each waiting caller gets its own result.
+ *
+ * A batch is sent when the window elapses or when it reaches the
+ * maximum batch size, whichever comes first. Nothing is cached: once a
+ * query completes, the next lookup goes to the database again.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserLookupService {
+
+    // Whether lookups are coalesced (otherwise each goes straight to the database)
+    @Value("${users.lookup.coalescing.enabled:true}")
+    private boolean enabled;
+
+    // How long a lookup may wait for others to join its batch
+    @Value("${users.lookup.coalescing.window-ms:2}")
+    private long windowMs;
+
+    // Batch size that triggers an immediate query
+    @Value("${users.lookup.coalescing.max-batch:100}")
+    private int maxBatch;
+
+    // Lookups currently waiting or in flight, by username
+    private final Map<String, CompletableFuture<Optional<User>>> inFlight = new ConcurrentHashMap<>();
+
+    // Usernames waiting for the next batch
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private ScheduledExecutorService flushScheduler;
+    private ExecutorService queryExecutor;
+
+    // Counters
+    private final LongAdder lookupCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder batchedKeys = new LongAdder();
+    private final LongAccumulator maxBatchSize = new LongAccumulator(Math::max, 0);
+    private final LongAdder waitNanos = new LongAdder();
+
+    // Dependencies
+    private final UserRepository userRepository;
+
+    /**
+     * Start the batch flusher.
+     */
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        flushScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("user-lookup-flush")
+                .daemon(true)
+                .factory());
+        queryExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+                .name("user-lookup-", 0)
+                .factory());
+    }
+
+    /**
+     * Find a user by username, sharing the query with concurrent lookups.
+     *
+     * @param username The username to look up
+     * @return The user, if found
+     */
+    public Optional<User> findByUsername(String username) {
+        if (!enabled || username == null) {
+            return userRepository.findByUsername(username);
+        }
+
+        lookupCount.increment();
+        long startTime = System.nanoTime();
+
+        CompletableFuture<Optional<User>> future = inFlight.get(username);
+        if (future != null) {
+            coalescedCount.increment();
+        } else {
+            CompletableFuture<Optional<User>> created = new CompletableFuture<>();
+            future = inFlight.putIfAbsent(username, created);
+            if (future != null) {
+                coalescedCount.increment();
+            } else {
+                future = created;
+                enqueue(username);
+            }
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            waitNanos.add(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Get lookup statistics for monitoring.
+     *
+     * @return Lookup counters keyed by name
+     */
+    public Map<String, Object> getStats() {
+        long lookups = lookupCount.sum();
+        long batches = batchCount.sum();
+        return Map.of(
+            "enabled", enabled,
+            "lookups", lookups,
+            "coalesced", coalescedCount.sum(),
+            "batches", batches,
+            "avgBatchSize", batches > 0 ? (double) batchedKeys.sum() / batches : 0.0,
+            "maxBatchSize", maxBatchSize.get(),
+            "avgWaitMicros", lookups > 0 ? waitNanos.sum() / lookups / 1000 : 0
+        );
+    }
+
+    /**
+     * Stop the batch flusher.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (flushScheduler != null) {
+            flushScheduler.shutdownNow();
+            queryExecutor.shutdown();
+        }
+    }
+
+    private void enqueue(String username) {
+        pending.add(username);
+        if (pendingCount.incrementAndGet() >= maxBatch) {
+            queryExecutor.execute(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            flushScheduler.schedule(() -> {
+                flushScheduled.set(false);
+                queryExecutor.execute(this::flush);
+            }, windowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        List<String> batch = new ArrayList<>();
+        String username;
+        while (batch.size() < maxBatch && (username = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(username);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        batchCount.increment();
+        batchedKeys.add(batch.size());
+        maxBatchSize.accumulate(batch.size());
+
+        try {
+            Map<String, User> found = (batch.size() == 1
+                    ? userRepository.findByUsername(batch.get(0)).stream().toList()
+                    : userRepository.findByUsernameIn(batch))
+                    .stream()
+                    .collect(Collectors.toMap(User::getUsername, Function.identity(), (a, b) -> a));
+
+            for (String key : batch) {
+                complete(key, future -> future.complete(Optional.ofNullable(found.get(key))));
+            }
+        } catch (RuntimeException e) {
+            log.error("Batched user lookup failed", Map.of("batchSize", batch.size()), e);
+            for (String key : batch) {
+                complete(key, future -> future.completeExceptionally(e));
+            }
+        }
+    }
+
+    private void complete(String username, Consumer<CompletableFuture<Optional<User>>> action) {
+        CompletableFuture<Optional<User>> future = inFlight.remove(username);
+        if (future != null) {
+            action.accept(future);
+        }
+    }
+}
@@ -2,22 +2,38 @@ package omgplatform.server.services;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.BulkRegisterResult;
 import omgplatform.server.dto.LoginRequest;
 import omgplatform.server.dto.RegisterRequest;
+import omgplatform.server.dto.UserPage;
+import omgplatform.server.dto.UserSummary;
 import omgplatform.server.entities.User;
 import omgplatform.server.repositories.UserRepository;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.postgresql.util.PSQLException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Contains business logic for user accounts.
  *
  * @authors Clement Luo,
  * @date April 15, 2025
- * @edited June 29, 2025
+ * @edited October 16, 2026
  * @since 1.0
  */
 @Service
@@ -25,49 +41,93 @@ import java.util.Map;
 @Slf4j
 public class UserService {
 
+    // Unique constraint on users.username, and the SQLSTATE it raises
+    private static final String USERNAME_CONSTRAINT = "users_username_key";
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    // Rows per insert batch (and per duplicate check) in bulk registration
+    @Value("${users.bulk.batch-size:500}")
+    private int bulkBatchSize;
+
     // Dependencies
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final UserCacheService userCache;
+    private final UsernameFilterService usernameFilter;
+    private final PlatformTransactionManager transactionManager;
+    private final LastLoginService lastLoginService;
 
     //METHODS
 
     /**
-     * Get list of all users
+     * Get one page of users, ordered by id
      *
-     * @return A list of all the users
+     * @param afterId the last id of the previous page (0 for the first page)
+     * @param limit the number of users to return
+     * @return the page and the id to continue after
      */
-    public List<User> getUsers() {
-        log.debug("Method entry: getUsers");
+    public UserPage getUserPage(long afterId, int limit) {
+        log.debug("Method entry: getUserPage - after: {}, limit: {}", afterId, limit);
         long startTime = System.currentTimeMillis();
-        
-        try {
-            List<User> users = userRepository.findAll();
-            long duration = System.currentTimeMillis() - startTime;
-            
-            log.debug("DB operation: SELECT users - {}ms", duration);
-            log.info("Method exit: getUsers - Retrieved {} users", users.size());
-            
-            return users;
-        } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
-            log.error("Failed to retrieve users from database", e);
-            log.debug("DB operation: SELECT users - {}ms", duration);
-            throw e;
-        }
+
+        List<UserSummary> users = userRepository.findSummariesAfter(afterId, Limit.of(limit));
+        Long nextAfter = users.size() < limit ? null : users.get(users.size() - 1).getId();
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.debug("DB operation: SELECT users (page) - {}ms", duration);
+        return new UserPage(users, nextAfter);
+    }
+
+    /**
+     * Pass every user, in id order, to a consumer
+     * (rows are read through a database cursor, so memory use is flat however many users there are)
+     *
+     * @param consumer called once per user
+     * @return the number of users read
+     */
+    public long forEachUser(Consumer<UserSummary> consumer) {
+        log.debug("Method entry: forEachUser");
+        long startTime = System.currentTimeMillis();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        Long count = transaction.execute(status -> {
+            long rows = 0;
+            try (Stream<UserSummary> users = userRepository.streamAllSummaries()) {
+                for (Iterator<UserSummary> it = users.iterator(); it.hasNext(); rows++) {
+                    consumer.accept(it.next());
+                }
+            }
+            return rows;
+        });
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.debug("DB operation: SELECT users (stream) - {}ms", duration);
+        log.info("Method exit: forEachUser - Streamed {} users", count);
+        return count;
     }
 
     /**
      * Check if a username is available
+     * (answered from the username filter when the name is definitely free)
      *
      * @param username the username to check
      * @return If the username is available
      */
     public boolean isUsernameAvailable(String username) {
         log.debug("Method entry: isUsernameAvailable - username: {}", username);
-        long startTime = System.currentTimeMillis();
         
+        if (!usernameFilter.mightExist(username)) {
+            log.debug("Method exit: isUsernameAvailable - available: true (filter)");
+            return true;
+        }
+        
+        long startTime = System.currentTimeMillis();
         try {
-            boolean available = !userRepository.existsByUsername(username);
+            boolean available = userCache.findByUsername(username).isEmpty();
+            if (available) {
+                usernameFilter.recordFalsePositive();
+            }
             long duration = System.currentTimeMillis() - startTime;
             
             log.debug("DB operation: SELECT users - {}ms", duration);
@@ -92,7 +152,11 @@ public class UserService {
         long startTime = System.currentTimeMillis();
         
         try {
+            // Read the username first: the byId entry may already be evicted while byUsername still holds it
+            String username = userRepository.findById(id).map(User::getUsername).orElse(null);
             userRepository.deleteById(id);
+            userCache.invalidate(id, username);
+            usernameFilter.remove();
             long duration = System.currentTimeMillis() - startTime;
             
             log.debug("DB operation: DELETE users - {}ms", duration);
@@ -126,12 +190,6 @@ public class UserService {
             throw new IllegalArgumentException("Password Cannot Be Empty");
         }
 
-        //Check if username is taken
-        if(userRepository.findByUsername(request.getUsername()).isPresent()) {
-            log.warn("Registration attempt with taken username: {}", request.getUsername());
-            throw new IllegalArgumentException("Username Is Already Taken");
-        }
-
         //Check username and password conditions
         if(!checkUsername()){
             log.warn("Registration attempt with invalid username: {}", request.getUsername());
@@ -148,11 +206,23 @@ public class UserService {
         try {
             User user = new User();
             user.setUsername(request.getUsername());
-            user.setPassword(passwordEncoder.encode(request.getPassword()));
+            user.setPassword(passwordHashingService.encode(request.getPassword()));
             user.setFullName(request.getFullName());
             user.setDateOfBirth(request.getDateOfBirth());
             
-            User savedUser = userRepository.save(user);
+            //Taken usernames are rejected by the unique constraint
+            User savedUser;
+            try {
+                savedUser = userRepository.save(user);
+            } catch (DataIntegrityViolationException e) {
+                if (!isUsernameTaken(e)) {
+                    throw e;
+                }
+                log.warn("Registration attempt with taken username: {}", request.getUsername());
+                throw new IllegalArgumentException("Username Is Already Taken");
+            }
+            userCache.put(savedUser);
+            usernameFilter.add(savedUser.getUsername());
             long duration = System.currentTimeMillis() - startTime;
             
             log.debug("DB operation: INSERT users - {}ms", duration);
@@ -167,6 +237,133 @@ public class UserService {
         }
     }
 
+    /**
+     * Register many users at once
+     * (passwords are hashed in parallel and rows are inserted in JDBC batches;
+     * each row gets its own result and a bad row never fails the others)
+     *
+     * @param requests the accounts to register
+     * @return one result per request, in the same order
+     */
+    public List<BulkRegisterResult> bulkRegister(List<RegisterRequest> requests) {
+        log.debug("Method entry: bulkRegister - rows: {}", requests.size());
+        long startTime = System.currentTimeMillis();
+
+        BulkRegisterResult[] results = new BulkRegisterResult[requests.size()];
+        Map<String, Integer> rowsByUsername = new LinkedHashMap<>();
+
+        //Validate rows and drop duplicates within the request
+        for (int row = 0; row < requests.size(); row++) {
+            RegisterRequest request = requests.get(row);
+            String username = request.getUsername();
+            if (username == null || username.trim().isEmpty()) {
+                results[row] = new BulkRegisterResult(username, BulkRegisterResult.Status.INVALID, "Username Cannot Be Empty");
+            } else if (request.getPassword() == null || request.getPassword().trim().isEmpty()) {
+                results[row] = new BulkRegisterResult(username, BulkRegisterResult.Status.INVALID, "Password Cannot Be Empty");
+            } else if (request.getDateOfBirth() == null) {
+                results[row] = new BulkRegisterResult(username, BulkRegisterResult.Status.INVALID, "Date Of Birth Is Required");
+            } else if (rowsByUsername.putIfAbsent(username, row) != null) {
+                results[row] = new BulkRegisterResult(username, BulkRegisterResult.Status.DUPLICATE, "Username Repeated In Request");
+            }
+        }
+
+        //Reject usernames that already exist, one query per batch
+        List<String> usernames = new ArrayList<>(rowsByUsername.keySet());
+        for (int from = 0; from < usernames.size(); from += bulkBatchSize) {
+            List<String> chunk = usernames.subList(from, Math.min(from + bulkBatchSize, usernames.size()));
+            for (User existing : userRepository.findByUsernameIn(chunk)) {
+                Integer row = rowsByUsername.remove(existing.getUsername());
+                if (row != null) {
+                    results[row] = new BulkRegisterResult(existing.getUsername(), BulkRegisterResult.Status.DUPLICATE, "Username Is Already Taken");
+                }
+            }
+        }
+
+        //Hash passwords in parallel
+        List<Integer> rows = new ArrayList<>(rowsByUsername.values());
+        List<String> hashes = passwordHashingService.encodeAll(rows.stream()
+                .map(row -> requests.get(row).getPassword())
+                .toList());
+
+        List<User> users = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            RegisterRequest request = requests.get(rows.get(i));
+            User user = new User();
+            user.setUsername(request.getUsername());
+            user.setPassword(hashes.get(i));
+            user.setFullName(request.getFullName());
+            user.setDateOfBirth(request.getDateOfBirth());
+            users.add(user);
+        }
+
+        //Insert in batches; a batch hitting the username constraint is retried row by row
+        for (int from = 0; from < users.size(); from += bulkBatchSize) {
+            int to = Math.min(from + bulkBatchSize, users.size());
+            List<User> chunk = users.subList(from, to);
+            try {
+                List<User> saved = userRepository.saveAll(chunk);
+                for (int i = 0; i < saved.size(); i++) {
+                    created(saved.get(i), rows.get(from + i), results);
+                }
+            } catch (DataIntegrityViolationException e) {
+                if (!isUsernameTaken(e)) {
+                    throw e;
+                }
+                log.warn("Bulk insert batch hit the username constraint, retrying rows individually", Map.of("rows", chunk.size()));
+                for (int i = 0; i < chunk.size(); i++) {
+                    User user = chunk.get(i);
+                    user.setId(null);
+                    try {
+                        created(userRepository.save(user), rows.get(from + i), results);
+                    } catch (DataIntegrityViolationException duplicate) {
+                        if (!isUsernameTaken(duplicate)) {
+                            throw duplicate;
+                        }
+                        results[rows.get(from + i)] = new BulkRegisterResult(user.getUsername(), BulkRegisterResult.Status.DUPLICATE, "Username Is Already Taken");
+                    }
+                }
+            }
+        }
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.debug("DB operation: INSERT users (bulk) - {}ms", duration);
+        long createdCount = Arrays.stream(results)
+                .filter(result -> result.getStatus() == BulkRegisterResult.Status.CREATED)
+                .count();
+        log.info("Method exit: bulkRegister - {} of {} users created", createdCount, requests.size());
+
+        return List.of(results);
+    }
+
+    /**
+     * Check whether an integrity violation came from the unique username constraint
+     * (and not, say, a NOT NULL or length violation)
+     *
+     * @param e the violation
+     * @return If the username was already taken
+     */
+    static boolean isUsernameTaken(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql) {
+                // Batched inserts report the row's error as the next exception
+                for (SQLException next = sql; next != null; next = next.getNextException()) {
+                    if (next instanceof PSQLException psql && UNIQUE_VIOLATION.equals(psql.getSQLState())
+                            && psql.getServerErrorMessage() != null
+                            && USERNAME_CONSTRAINT.equals(psql.getServerErrorMessage().getConstraint())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private void created(User user, int row, BulkRegisterResult[] results) {
+        userCache.put(user);
+        usernameFilter.add(user.getUsername());
+        results[row] = new BulkRegisterResult(user.getUsername(), BulkRegisterResult.Status.CREATED, null);
+    }
+
     /**
      *
      */
@@ -186,21 +383,21 @@ public class UserService {
 
         long startTime = System.currentTimeMillis();
         try {
-            User user = userRepository.findByUsername(request.getUsername())
+            User user = userCache.findByUsername(request.getUsername())
                     .orElseThrow(() -> new Exception("User Not Found"));
             
-            if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
                 log.warn("Login attempt with invalid password for username: {}", request.getUsername());
                 throw new Exception("Invalid credentials");
             }
             
-            // Update last login timestamp
-            user.setLastLogin(java.time.OffsetDateTime.now());
-            userRepository.save(user);
+            // Update last login timestamp (written behind, off the request path; user is our own copy)
+            OffsetDateTime now = OffsetDateTime.now();
+            user.setLastLogin(now);
+            lastLoginService.record(user.getId(), now);
             
             long duration = System.currentTimeMillis() - startTime;
             log.debug("DB operation: SELECT users - {}ms", duration);
-            log.debug("DB operation: UPDATE users - {}ms", System.currentTimeMillis() - startTime - duration);
             
             log.info("Method exit: login - User logged in successfully: {}", user.getUsername());
             return user;
@@ -239,7 +436,7 @@ public class UserService {
         long startTime = System.currentTimeMillis();
         
         try {
-            java.util.Optional<User> user = userRepository.findByUsername(username);
+            java.util.Optional<User> user = userCache.findByUsername(username);
             long duration = System.currentTimeMillis() - startTime;
             
             log.debug("DB operation: SELECT users - {}ms", duration);
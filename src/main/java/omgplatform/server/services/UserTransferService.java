@@ -0,0 +1,355 @@
+package omgplatform.server.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.DeleteUsersRequest;
+import omgplatform.server.dto.ImportResult;
+import omgplatform.server.entities.User;
+import org.postgresql.PGConnection;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Moves users in and out of the database in bulk.
+ *
+ * Imports and exports stream through PostgreSQL COPY, so memory use does
+ * not grow with the number of rows. Imports are copied into a temporary
+ * staging table and merged into users with a single INSERT ... ON
+ * CONFLICT, inside one transaction; a malformed file imports nothing.
+ *
+ * Imported passwords must already be BCrypt hashes; rows with a blank
+ * username or any other password are skipped. Existing usernames are left
+ * alone unless the import asks to update them. Imported rows get new ids,
+ * taken from users_id_seq in the same blocks Hibernate uses.
+ *
+ * Exports leave out password hashes, so an export is not importable as-is.
+ *
+ * Bulk deletes run as one DELETE statement.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserTransferService {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    // What an import does with a username that already exists
+    public enum ConflictMode {
+        UPDATE,
+        SKIP
+    }
+
+    // Columns a CSV import may name in its header (the columns of an export, plus password)
+    private static final Set<String> IMPORT_COLUMNS = Set.of(
+            "id", "username", "password", "full_name", "date_of_birth", "last_login", "created_at", "updated_at");
+
+    private static final int MAX_HEADER_BYTES = 1024;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE users_import (
+                id BIGINT,
+                username VARCHAR,
+                password VARCHAR,
+                full_name VARCHAR,
+                date_of_birth DATE,
+                last_login TIMESTAMP WITH TIME ZONE,
+                created_at TIMESTAMP WITH TIME ZONE,
+                updated_at TIMESTAMP WITH TIME ZONE
+            ) ON COMMIT DROP""";
+
+    private static final String CREATE_JSON_STAGING =
+            "CREATE TEMP TABLE users_import_json (doc JSONB) ON COMMIT DROP";
+
+    // One document per line; control characters never appear unescaped in JSON,
+    // so using them as quote and delimiter passes each line through untouched
+    private static final String COPY_JSON_IN =
+            "COPY users_import_json (doc) FROM STDIN WITH (FORMAT csv, QUOTE E'\\x01', DELIMITER E'\\x02')";
+
+    // Documents use the same keys as the User JSON returned by /users/getusers
+    private static final String UNPACK_JSON = """
+            INSERT INTO users_import (username, password, full_name, date_of_birth, last_login, created_at)
+            SELECT r.username, r.password, r."fullName", r."dateOfBirth", r."lastLogin", r.created_at
+            FROM users_import_json j,
+                 jsonb_to_record(j.doc) AS r(username VARCHAR, password VARCHAR, "fullName" VARCHAR,
+                                             "dateOfBirth" DATE, "lastLogin" TIMESTAMPTZ, created_at TIMESTAMPTZ)
+            WHERE j.doc IS NOT NULL""";
+
+    // The last row wins when a username repeats. Each sequence call reserves
+    // a block of User.ID_ALLOCATION_SIZE ids, as User's pooled generator does.
+    private static final String MERGE = """
+            WITH staged AS (
+                SELECT DISTINCT ON (username) username, password, full_name, date_of_birth, last_login, created_at
+                FROM users_import
+                WHERE btrim(username) <> '' AND password ~ '^\\$2[aby]\\$[0-9]{2}\\$.{53}$'
+                ORDER BY username, ctid DESC
+            ), numbered AS (
+                SELECT staged.*, row_number() OVER () - 1 AS rn FROM staged
+            ), blocks AS (
+                SELECT b, nextval('users_id_seq') AS hi
+                FROM generate_series(0, ((SELECT count(*) FROM numbered) + %1$d - 1) / %1$d - 1) AS b
+            ), merged AS (
+                INSERT INTO users (id, username, password, full_name, date_of_birth, last_login, created_at)
+                SELECT blocks.hi - %1$d + 1 + numbered.rn %% %1$d, numbered.username, numbered.password,
+                       numbered.full_name, numbered.date_of_birth, numbered.last_login,
+                       COALESCE(numbered.created_at, CURRENT_TIMESTAMP)
+                FROM numbered JOIN blocks ON blocks.b = numbered.rn / %1$d
+                ON CONFLICT (username) DO %2$s
+                RETURNING username, xmax = 0 AS inserted
+            )
+            SELECT username, inserted FROM merged""";
+
+    private static final String ON_CONFLICT_UPDATE = """
+            UPDATE SET password = EXCLUDED.password,
+                       full_name = EXCLUDED.full_name,
+                       date_of_birth = EXCLUDED.date_of_birth,
+                       updated_at = CURRENT_TIMESTAMP""";
+
+    private static final String EXPORT_CSV = """
+            COPY (SELECT id, username, full_name, date_of_birth, last_login, created_at, updated_at
+                  FROM users ORDER BY id)
+            TO STDOUT WITH (FORMAT csv, HEADER true)""";
+
+    private static final String EXPORT_NDJSON = """
+            COPY (SELECT json_build_object('id', id, 'username', username, 'fullName', full_name,
+                                           'dateOfBirth', date_of_birth,
+                                           'lastLogin', last_login, 'created_at', created_at,
+                                           'updated_at', updated_at)
+                  FROM users ORDER BY id)
+            TO STDOUT WITH (FORMAT csv, QUOTE E'\\x01', DELIMITER E'\\x02')""";
+
+    // Dependencies
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final UserCacheService userCache;
+    private final UsernameFilterService usernameFilter;
+
+    /**
+     * Import users from a CSV or NDJSON upload.
+     *
+     * CSV uploads start with a header naming their columns (any of the
+     * exported columns, including username and password). NDJSON uploads
+     * hold one user object per line.
+     *
+     * @param body the upload, read as it streams in
+     * @param format the upload format
+     * @param conflictMode whether existing usernames are updated or left alone
+     * @return counts of the rows read, inserted, updated and skipped
+     * @throws IllegalArgumentException if the upload is malformed
+     */
+    public ImportResult importUsers(InputStream body, Format format, ConflictMode conflictMode) {
+        log.info("Method entry: importUsers", Map.of("format", format, "conflictMode", conflictMode));
+        long startTime = System.currentTimeMillis();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ImportResult result = transaction.execute(status -> {
+            try {
+                jdbcTemplate.execute(CREATE_STAGING);
+                long received;
+                if (format == Format.CSV) {
+                    received = copyCsv(body);
+                } else {
+                    jdbcTemplate.execute(CREATE_JSON_STAGING);
+                    received = copyIn(COPY_JSON_IN, body);
+                    jdbcTemplate.update(UNPACK_JSON);
+                }
+
+                long[] counts = new long[2];
+                String conflict = conflictMode == ConflictMode.UPDATE ? ON_CONFLICT_UPDATE : "NOTHING";
+                jdbcTemplate.query(MERGE.formatted(User.ID_ALLOCATION_SIZE, conflict), (RowCallbackHandler) rs -> {
+                    if (rs.getBoolean("inserted")) {
+                        counts[0]++;
+                        usernameFilter.add(rs.getString("username"));
+                    } else {
+                        counts[1]++;
+                    }
+                });
+                return new ImportResult(received, counts[0], counts[1], received - counts[0] - counts[1]);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (DataAccessException e) {
+                throw invalidData(e);
+            }
+        });
+
+        userCache.invalidateAll();
+
+        log.info("Method exit: importUsers", Map.of(
+            "received", result.getReceived(),
+            "inserted", result.getInserted(),
+            "updated", result.getUpdated(),
+            "skipped", result.getSkipped(),
+            "duration", System.currentTimeMillis() - startTime
+        ));
+        return result;
+    }
+
+    /**
+     * Write every user to a stream, ordered by id, without password hashes.
+     *
+     * CSV exports have a header row; NDJSON exports hold one object per
+     * line.
+     *
+     * @param format the export format
+     * @param out where to write the export
+     * @return the number of users written
+     */
+    public long exportUsers(Format format, OutputStream out) {
+        long startTime = System.currentTimeMillis();
+        String sql = format == Format.CSV ? EXPORT_CSV : EXPORT_NDJSON;
+
+        Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            try {
+                return con.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        log.info("Users exported", Map.of(
+            "format", format,
+            "rows", rows,
+            "duration", System.currentTimeMillis() - startTime
+        ));
+        return rows;
+    }
+
+    /**
+     * Delete every user matching all the given criteria in one statement.
+     *
+     * @param request the ids and/or cut-off times to match
+     * @return the number of users deleted
+     * @throws IllegalArgumentException if no criterion is given
+     */
+    public int deleteUsers(DeleteUsersRequest request) {
+        StringJoiner where = new StringJoiner(" AND ");
+        List<Object> args = new ArrayList<>();
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            where.add("id = ANY(?)");
+            args.add(request.getIds().toArray(Long[]::new));
+        }
+        if (request.getCreatedBefore() != null) {
+            where.add("created_at < ?");
+            args.add(request.getCreatedBefore());
+        }
+        if (request.getInactiveSince() != null) {
+            where.add("COALESCE(last_login, created_at) < ?");
+            args.add(request.getInactiveSince());
+        }
+        if (args.isEmpty()) {
+            throw new IllegalArgumentException("At Least One Delete Criterion Is Required");
+        }
+
+        long startTime = System.currentTimeMillis();
+        int deleted = jdbcTemplate.update("DELETE FROM users WHERE " + where, ps -> {
+            for (int i = 0; i < args.size(); i++) {
+                if (args.get(i) instanceof Long[] ids) {
+                    ps.setArray(i + 1, ps.getConnection().createArrayOf("bigint", ids));
+                } else {
+                    ps.setObject(i + 1, args.get(i));
+                }
+            }
+        });
+
+        if (deleted > 0) {
+            userCache.invalidateAll();
+            usernameFilter.remove(deleted);
+        }
+
+        log.info("Users deleted", Map.of(
+            "criteria", where.toString(),
+            "deleted", deleted,
+            "duration", System.currentTimeMillis() - startTime
+        ));
+        return deleted;
+    }
+
+    /**
+     * Copy a CSV upload into the staging table, using its header as the column list.
+     */
+    private long copyCsv(InputStream body) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(body, COPY_BUFFER_SIZE);
+        List<String> columns = readHeader(in);
+        return copyIn("COPY users_import (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)", in);
+    }
+
+    /**
+     * Read and check the header line of a CSV upload, leaving the stream at the first row.
+     */
+    private static List<String> readHeader(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            if (line.size() >= MAX_HEADER_BYTES) {
+                throw new IllegalArgumentException("CSV Header Is Too Long");
+            }
+            line.write(b);
+        }
+
+        String header = line.toString(StandardCharsets.UTF_8).replace("\uFEFF", "").strip();
+        if (header.isEmpty()) {
+            throw new IllegalArgumentException("CSV Header Is Missing");
+        }
+
+        List<String> columns = new ArrayList<>();
+        for (String name : header.split(",")) {
+            String column = name.replace("\"", "").strip().toLowerCase(Locale.ROOT);
+            if (!IMPORT_COLUMNS.contains(column) || columns.contains(column)) {
+                throw new IllegalArgumentException("Invalid CSV Column: " + column);
+            }
+            columns.add(column);
+        }
+        if (!columns.contains("username") || !columns.contains("password")) {
+            throw new IllegalArgumentException("CSV Header Must Include username And password");
+        }
+        return columns;
+    }
+
+    private long copyIn(String sql, InputStream in) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            try {
+                return con.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, in, COPY_BUFFER_SIZE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Report bad upload data (SQLSTATE class 22) as a client error; rethrow anything else.
+     */
+    private static RuntimeException invalidData(DataAccessException e) {
+        if (e.getMostSpecificCause() instanceof SQLException sql
+                && sql.getSQLState() != null && sql.getSQLState().startsWith("22")) {
+            return new IllegalArgumentException("Invalid Import Data: " + sql.getMessage(), e);
+        }
+        return e;
+    }
+}
@@ -0,0 +1,221 @@
+package omgplatform.server.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.repositories.UserRepository;
+import omgplatform.server.utils.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter of existing usernames.
+ *
+ * Lets availability checks answer "definitely free" without touching the
+ * database; only possible matches are checked against it. The filter is
+ * built by streaming the users table once the application is ready and
+ * is updated on every registration.
+ *
+ * Removed usernames cannot be cleared from a Bloom filter, so they only
+ * cause extra database checks. Once removals pass a share of the
+ * filter's entries, it is rebuilt in the background. Until the first
+ * build finishes every username is reported as possibly taken.
+ *
+ * The filter is for single-node use only. It only learns about
+ * registrations made on this node, so with other nodes writing to the
+ * same database a "definitely free" answer could be wrong. It is never
+ * built when a cross-process cluster bus is configured (cluster.bus other
+ * than in-process), and every check then goes to the database.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UsernameFilterService {
+
+    @Value("${users.bloom.enabled:true}")
+    private boolean enabled;
+
+    // The filter is only trusted when no other process shares the users table through the bus
+    @Value("${cluster.bus:in-process}")
+    private String clusterBus;
+
+    // Minimum number of usernames the filter is sized for
+    @Value("${users.bloom.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${users.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // Share of removed entries that triggers a rebuild
+    @Value("${users.bloom.rebuild-ratio:0.1}")
+    private double rebuildRatio;
+
+    // Filter in use (null until built) and the one being built
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    // Counters
+    private final LongAdder removedSinceBuild = new LongAdder();
+    private final LongAdder checkCount = new LongAdder();
+    private final LongAdder definitelyFreeCount = new LongAdder();
+    private final LongAdder falsePositiveCount = new LongAdder();
+
+    // Dependencies
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Build the filter once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        if (!isSingleNode()) {
+            log.info("Username filter disabled: it is single-node only", Map.of("clusterBus", clusterBus));
+            return;
+        }
+        Thread.ofVirtual().name("username-filter-build").start(this::rebuild);
+    }
+
+    /**
+     * Check whether a username may already exist.
+     *
+     * @param username The username to check
+     * @return false if the username is definitely not taken
+     */
+    public boolean mightExist(String username) {
+        BloomFilter filter = current;
+        if (filter == null) {
+            return true;
+        }
+
+        checkCount.increment();
+        if (!filter.mightContain(username)) {
+            definitelyFreeCount.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Record a possible match that the database showed to be free.
+     */
+    public void recordFalsePositive() {
+        falsePositiveCount.increment();
+    }
+
+    /**
+     * Add a newly registered username.
+     *
+     * @param username The username
+     */
+    public void add(String username) {
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.add(username);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.add(username);
+        }
+    }
+
+    /**
+     * Note that a username was removed, rebuilding the filter if too many have been.
+     */
+    public void remove() {
+        remove(1);
+    }
+
+    /**
+     * Note that several usernames were removed, rebuilding the filter if too many have been.
+     *
+     * @param count The number of usernames removed
+     */
+    public void remove(long count) {
+        removedSinceBuild.add(count);
+        BloomFilter filter = current;
+        if (filter != null && removedSinceBuild.sum() > filter.getInsertions() * rebuildRatio
+                && !rebuilding.get()) {
+            Thread.ofVirtual().name("username-filter-rebuild").start(this::rebuild);
+        }
+    }
+
+    /**
+     * Get filter statistics for monitoring.
+     *
+     * @return Filter counters keyed by name
+     */
+    public Map<String, Object> getStats() {
+        BloomFilter filter = current;
+        return Map.of(
+            "enabled", enabled && isSingleNode(),
+            "ready", filter != null,
+            "entries", filter != null ? filter.getInsertions() : 0L,
+            "bits", filter != null ? filter.getBitCount() : 0L,
+            "checks", checkCount.sum(),
+            "definitelyFree", definitelyFreeCount.sum(),
+            "falsePositives", falsePositiveCount.sum(),
+            "removedSinceBuild", removedSinceBuild.sum()
+        );
+    }
+
+    private boolean isSingleNode() {
+        return "in-process".equalsIgnoreCase(clusterBus);
+    }
+
+    /**
+     * Build a new filter from the users table and swap it in.
+     *
+     * Registrations during the build are added to both filters.
+     */
+    private void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        try {
+            long count = userRepository.count();
+            BloomFilter next = new BloomFilter(Math.max(expectedInsertions, count * 2), falsePositiveRate);
+            building = next;
+            removedSinceBuild.reset();
+
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> {
+                try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+                    usernames.forEach(next::add);
+                }
+            });
+
+            current = next;
+            log.info("Username filter built", Map.of(
+                "entries", next.getInsertions(),
+                "bits", next.getBitCount(),
+                "duration", System.currentTimeMillis() - startTime
+            ));
+        } catch (Exception e) {
+            log.error("Failed to build username filter", e);
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+}
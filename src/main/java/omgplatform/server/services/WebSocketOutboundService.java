@@ -0,0 +1,210 @@
+package omgplatform.server.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.utils.FrameCompressor;
+import omgplatform.server.utils.OutboundSessionQueue;
+import omgplatform.server.utils.WebSocketCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Owns the outbound queue of every open WebSocket session.
+ *
+ * All frames leave the server through this service, so sends to one
+ * session are ordered and never concurrent, and a slow client only
+ * backs up its own queue.
+ * 
+ * Optional micro-batching (websocket.batching.*) coalesces JSON text frames
+ * per session into array frames under load. Message types listed in
+ * websocket.batching.exclude-types always skip the batch.
+ * 
+ * Standard compression is the opt-in permessage-deflate extension, which
+ * the container applies below this service with its own settings; only the
+ * number of sessions that negotiated it is counted here. The opt-in app-level scheme
+ * (websocket.compression.*) deflates JSON frames at or above a size
+ * threshold for sessions that requested the custom "+x-omg-deflate"
+ * subprotocol and did not also negotiate permessage-deflate.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class WebSocketOutboundService {
+
+    @Value("${websocket.outbound.send-time-limit-ms:10000}")
+    private long sendTimeLimitMs;
+
+    @Value("${websocket.outbound.buffer-size-limit:524288}")
+    private int bufferSizeLimit;
+
+    @Value("${websocket.batching.enabled:false}")
+    private boolean batchingEnabled;
+
+    @Value("${websocket.batching.window-ms:10}")
+    private long batchWindowMs;
+
+    @Value("${websocket.batching.max-bytes:16384}")
+    private int batchMaxBytes;
+
+    @Value("${websocket.batching.exclude-types:ERROR}")
+    private Set<String> batchExcludedTypes;
+
+    @Value("${websocket.compression.enabled:false}")
+    private boolean compressionEnabled;
+
+    @Value("${websocket.compression.min-size:256}")
+    private int compressionMinSize;
+
+    @Value("${websocket.compression.context-takeover:true}")
+    private boolean compressionContextTakeover;
+
+    @Value("${websocket.compression.level:6}")
+    private int compressionLevel;
+
+    // Compression counters shared by all sessions
+    private final FrameCompressor.Stats compressionStats = new FrameCompressor.Stats();
+
+    // Sessions that negotiated permessage-deflate
+    private final LongAdder permessageDeflateSessions = new LongAdder();
+
+    // Outbound queues keyed by session id
+    private final Map<String, OutboundSessionQueue> queues = new ConcurrentHashMap<>();
+
+    // Writers are short-lived and mostly blocked on socket I/O, so virtual threads fit well
+    private final ExecutorService writerExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ws-writer-", 0).factory());
+
+    // Fires batch window flushes; the flush itself only enqueues
+    private final ScheduledExecutorService flushScheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("ws-batch-flush").daemon().factory());
+
+    /**
+     * Create the outbound queue for a newly opened session.
+     *
+     * @param session The WebSocket session
+     */
+    public void register(WebSocketSession session) {
+        long window = batchingEnabled ? batchWindowMs : 0;
+        boolean permessageDeflate = session.getExtensions().stream()
+                .anyMatch(extension -> WebSocketCodec.PERMESSAGE_DEFLATE.equals(extension.getName()));
+        if (permessageDeflate) {
+            permessageDeflateSessions.increment();
+        }
+
+        // Compressing again what the container compresses would only cost CPU
+        FrameCompressor compressor = compressionEnabled && WebSocketCodec.isDeflate(session) && !permessageDeflate
+                ? new FrameCompressor(compressionLevel, compressionMinSize, compressionContextTakeover, compressionStats)
+                : null;
+        queues.put(session.getId(), new OutboundSessionQueue(session, writerExecutor, sendTimeLimitMs, bufferSizeLimit,
+                flushScheduler, window, batchMaxBytes, compressor));
+    }
+
+    /**
+     * Drop the outbound queue of a closed session.
+     *
+     * @param session The WebSocket session
+     */
+    public void unregister(WebSocketSession session) {
+        queues.remove(session.getId());
+    }
+
+    /**
+     * Queue a frame for a session without blocking on the network.
+     *
+     * @param session The target WebSocket session
+     * @param frame The frame to send
+     * @return Whether the frame was accepted
+     */
+    public boolean send(WebSocketSession session, WebSocketMessage<?> frame) {
+        OutboundSessionQueue queue = queues.get(session.getId());
+        if (queue == null) {
+            log.warn("No outbound queue for session: " + session.getId());
+            return false;
+        }
+        return queue.enqueue(frame);
+    }
+
+    /**
+     * Queue a frame for a session, coalescing it with others when allowed.
+     * 
+     * Only JSON text frames can be batched; binary frames and excluded
+     * message types are queued as they are.
+     *
+     * @param session The target WebSocket session
+     * @param frame The frame to send
+     * @param messageType The type of the encoded message
+     * @return Whether the frame was accepted
+     */
+    public boolean send(WebSocketSession session, WebSocketMessage<?> frame, String messageType) {
+        if (!batchingEnabled || !(frame instanceof TextMessage text) || batchExcludedTypes.contains(messageType)) {
+            return send(session, frame);
+        }
+
+        OutboundSessionQueue queue = queues.get(session.getId());
+        if (queue == null) {
+            log.warn("No outbound queue for session: " + session.getId());
+            return false;
+        }
+        return queue.enqueueBatched(text);
+    }
+
+    /**
+     * Close a session through its outbound queue.
+     *
+     * @param session The WebSocket session
+     * @param status The close status
+     */
+    public void close(WebSocketSession session, CloseStatus status) {
+        OutboundSessionQueue queue = queues.get(session.getId());
+        if (queue != null) {
+            queue.close(status);
+        }
+    }
+
+    /**
+     * Check whether clients may request app-level compressed frames.
+     *
+     * @return Whether the custom compressed subprotocol is offered
+     */
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    /**
+     * Get compression statistics for monitoring.
+     *
+     * @return Compression counters keyed by name
+     */
+    public Map<String, Object> getCompressionStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(compressionStats.toMap());
+        stats.put("permessageDeflateSessions", permessageDeflateSessions.sum());
+        return stats;
+    }
+
+    /**
+     * Stop the writer threads on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        log.info("Shutting down WebSocket writers", Map.of("openQueues", queues.size()));
+        queues.values().forEach(queue -> queue.close(CloseStatus.GOING_AWAY));
+        flushScheduler.shutdownNow();
+        writerExecutor.shutdownNow();
+    }
+}
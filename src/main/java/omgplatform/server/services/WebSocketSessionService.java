@@ -0,0 +1,316 @@
+package omgplatform.server.services;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.ClusterEnvelope;
+import omgplatform.server.dto.SessionPrincipal;
+import omgplatform.server.dto.WebSocketMessage;
+import omgplatform.server.utils.ReplayRing;
+import omgplatform.server.utils.SharedFrame;
+import omgplatform.server.utils.WebSocketCodec;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds WebSocket session state and the outbound messaging helpers
+ * shared by the connection handler and the typed message handlers.
+ *
+ * This service manages:
+ * - The authenticated principal of each session
+ * - Sending messages to one session
+ * - Publishing to topic subscribers and broadcasting to all sessions
+ * - Relaying broadcasts to and from other cluster nodes
+ * - Reporting users going online and offline to the presence service
+ * - Numbering topic messages and replaying them to resuming clients
+ *
+ * Every message delivered to a topic carries the next sequence number of
+ * that topic's stream and is kept in the topic's replay ring. A client
+ * that reconnects sends RESUME with its last sequence number per topic
+ * and gets only the frames it missed.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WebSocketSessionService {
+
+    // List of authenticated user sessions
+    private final Map<WebSocketSession, SessionPrincipal> authenticatedSessions = new ConcurrentHashMap<>();
+
+    // Broadcast counters
+    private final LongAdder broadcastCount = new LongAdder();
+    private final LongAdder serializations = new LongAdder();
+    private final LongAdder serializationsAvoided = new LongAdder();
+
+    // Services
+    private final TopicService topicService;
+    private final FanoutService fanoutService;
+    private final ClusterBus clusterBus;
+    private final ReplayService replayService;
+    private final PresenceService presenceService;
+
+    /**
+     * Receive broadcasts published on other cluster nodes, and send
+     * presence deltas to every authenticated session on this node.
+     *
+     * Presence is per node, so deltas are not published to the cluster.
+     */
+    @PostConstruct
+    public void subscribeToCluster() {
+        clusterBus.subscribe(this::handleClusterMessage);
+        presenceService.subscribe(delta -> deliver(authenticatedSessions.keySet(), share(WebSocketMessage.of("PRESENCE", delta))));
+    }
+
+    /**
+     * Mark a session as authenticated.
+     *
+     * Confirms to the client, joins the default room and marks the user
+     * online (announced in the next presence delta).
+     *
+     * @param session The WebSocket session
+     * @param principal The authenticated principal
+     */
+    public void authenticate(WebSocketSession session, SessionPrincipal principal) {
+        authenticatedSessions.put(session, principal);
+        
+        // Send authentication success message, and the epoch to resume with after a reconnect
+        send(session, WebSocketMessage.system("Authentication successful! Welcome, " + principal.getUsername()));
+        send(session, WebSocketMessage.of("SESSION", Map.of("epoch", replayService.getEpoch())));
+        
+        // Join the default room
+        String defaultTopic = topicService.getDefaultTopic();
+        if (defaultTopic != null) {
+            topicService.subscribe(session, defaultTopic);
+        }
+        presenceService.connected(principal);
+        
+        log.info("User authenticated: " + principal.getUsername());
+    }
+
+    /**
+     * Forget a closed session, marking its user offline if it was their last.
+     *
+     * @param session The WebSocket session
+     * @return The principal the session was authenticated as, or null
+     */
+    public SessionPrincipal remove(WebSocketSession session) {
+        SessionPrincipal principal = authenticatedSessions.remove(session);
+        if (principal != null) {
+            presenceService.disconnected(principal);
+        }
+        return principal;
+    }
+
+    /**
+     * Get the authenticated principal for a session.
+     *
+     * @param session The WebSocket session
+     * @return The authenticated principal, or null if not authenticated
+     */
+    public SessionPrincipal getPrincipal(WebSocketSession session) {
+        return authenticatedSessions.get(session);
+    }
+
+    /**
+     * Check whether a session has authenticated.
+     *
+     * @param session The WebSocket session
+     * @return Whether the session is authenticated
+     */
+    public boolean isAuthenticated(WebSocketSession session) {
+        return authenticatedSessions.containsKey(session);
+    }
+
+    /**
+     * Get the current number of authenticated sessions.
+     *
+     * @return Number of authenticated sessions
+     */
+    public int getConnectionCount() {
+        return authenticatedSessions.size();
+    }
+
+    /**
+     * Send a message to a specific WebSocket session.
+     *
+     * The message is queued on the session's outbound queue and written
+     * by its writer, so this never blocks on the network. It goes through
+     * the fan-out service to stay ordered with broadcasts to the session.
+     *
+     * @param session The target WebSocket session
+     * @param message The message to send
+     */
+    public void send(WebSocketSession session, WebSocketMessage message) {
+        fanoutService.send(session, share(message));
+    }
+
+    /**
+     * Send an error message to a specific WebSocket session.
+     *
+     * @param session The target WebSocket session
+     * @param error The error message to send
+     */
+    public void sendError(WebSocketSession session, String error) {
+        send(session, WebSocketMessage.error(error));
+    }
+
+    /**
+     * Publish a message to the subscribers of a topic.
+     *
+     * Delivers to local subscribers and publishes once to the cluster
+     * so other nodes can reach theirs.
+     *
+     * @param topic The topic name
+     * @param message The message to publish
+     */
+    public void publish(String topic, WebSocketMessage message) {
+        deliverToTopic(topic, message);
+        clusterBus.publish(topic, message);
+    }
+
+    /**
+     * Subscribe a reconnected session to a topic and replay what it missed.
+     *
+     * @param session The WebSocket session
+     * @param topic The topic to resume
+     * @param lastSeq The last sequence number the client received on the topic
+     * @return The number of frames replayed, or -1 if the gap is no longer held (the client needs a snapshot)
+     */
+    public int resume(WebSocketSession session, String topic, long lastSeq) {
+        ReplayRing ring = replayService.find(topic);
+        if (ring == null) {
+            return -1;
+        }
+
+        // Holding the ring keeps new messages on the topic behind the replay
+        synchronized (ring) {
+            List<SharedFrame> missed = ring.since(lastSeq);
+            if (missed == null) {
+                return -1;
+            }
+            topicService.subscribe(session, topic);
+            missed.forEach(frame -> fanoutService.send(session, frame));
+            replayService.recordResume(missed.size());
+            return missed.size();
+        }
+    }
+
+    /**
+     * Broadcast a message to all authenticated WebSocket sessions.
+     *
+     * Only used for system-wide announcements; regular traffic is
+     * published to topics. Other cluster nodes receive it as well.
+     *
+     * @param message The message to broadcast
+     */
+    public void broadcastToAuthenticated(WebSocketMessage message) {
+        deliver(authenticatedSessions.keySet(), share(message));
+        clusterBus.publish(null, message);
+    }
+
+    /**
+     * Get broadcast statistics for monitoring.
+     *
+     * @return Broadcast counters keyed by name
+     */
+    public Map<String, Long> getBroadcastStats() {
+        return Map.of(
+            "broadcasts", broadcastCount.sum(),
+            "serializations", serializations.sum(),
+            "serializationsAvoided", serializationsAvoided.sum(),
+            "connections", (long) authenticatedSessions.size(),
+            "topics", (long) topicService.getTopicCount()
+        );
+    }
+
+    /**
+     * Deliver a message published on another cluster node to local sessions only.
+     *
+     * @param envelope The received envelope
+     */
+    private void handleClusterMessage(ClusterEnvelope envelope) {
+        if (envelope.getTopic() != null) {
+            deliverToTopic(envelope.getTopic(), envelope.getMessage());
+        } else {
+            deliver(authenticatedSessions.keySet(), share(envelope.getMessage()));
+        }
+    }
+
+    /**
+     * Wrap a message so it is serialized at most once per codec.
+     *
+     * Frames are immutable, so one encoded frame can be queued
+     * for any number of sessions using the same codec.
+     *
+     * @param message The message to encode
+     * @return The shared frame
+     */
+    private SharedFrame share(WebSocketMessage message) {
+        return new SharedFrame(message, message.getType(), serializations, serializationsAvoided);
+    }
+
+    /**
+     * Deliver a message to the local subscribers of a topic as the next
+     * message of its stream.
+     *
+     * The sequence number is issued, the frame stored for replay and the
+     * fan-out queued under the ring's lock, so subscribers receive the
+     * stream in sequence order. Rings are only created for topics with
+     * local subscribers; a topic whose subscribers all left keeps its
+     * existing ring so they can resume.
+     *
+     * @param topic The topic
+     * @param message The message, without a sequence number
+     */
+    private void deliverToTopic(String topic, WebSocketMessage message) {
+        Set<WebSocketSession> subscribers = topicService.getSubscribers(topic);
+        ReplayRing ring = subscribers.isEmpty() ? replayService.find(topic) : replayService.ring(topic);
+        if (ring == null) {
+            deliver(subscribers, share(message));
+            return;
+        }
+
+        synchronized (ring) {
+            long seq = ring.next();
+            SharedFrame frame = share(message.withSeq(seq));
+            ring.add(seq, frame, frame.forCodec(WebSocketCodec.JSON).getPayloadLength());
+            deliver(subscribers, frame);
+        }
+    }
+
+    /**
+     * Deliver a frame to a set of WebSocket sessions.
+     *
+     * The message is serialized once per codec in use; the fan-out
+     * service queues the shared frame for every recipient serially or in
+     * parallel lanes depending on configuration.
+     *
+     * @param recipients The target sessions
+     * @param frame The shared frame to deliver
+     */
+    private void deliver(Collection<WebSocketSession> recipients, SharedFrame frame) {
+        log.debug("Broadcasting message to sessions", Map.of(
+            "messageType", frame.getType(),
+            "targetSessions", recipients.size()
+        ));
+
+        fanoutService.fanout(recipients, frame);
+        broadcastCount.increment();
+
+        log.debug("Broadcast dispatched", Map.of(
+            "messageType", frame.getType(),
+            "totalSessions", recipients.size()
+        ));
+    }
+}
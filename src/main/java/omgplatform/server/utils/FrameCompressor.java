@@ -0,0 +1,151 @@
+package omgplatform.server.utils;
+
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+
+/**
+ * Per-connection DEFLATE compressor for outbound JSON text frames, for the
+ * custom "omg.v1.json+x-omg-deflate" subprotocol.
+ *
+ * This is an application-level scheme, not the permessage-deflate
+ * extension: the frames are ordinary WebSocket frames whose payload the
+ * client must inflate itself, and proxies see only opaque binary data.
+ * Clients that support permessage-deflate should negotiate it instead
+ * (the container handles it transparently) and use plain omg.v1.json.
+ *
+ * Wire format, server to client only (client frames are never compressed):
+ * - Text frame: an uncompressed JSON message (below the size threshold).
+ * - Binary frame: one JSON message as UTF-8, compressed as raw DEFLATE
+ *   (RFC 1951, no zlib header) ending in a SYNC_FLUSH, with the final
+ *   empty stored block 0x00 0x00 0xFF 0xFF removed. To read it, append
+ *   those four bytes and inflate with a raw inflater.
+ * - With context takeover, one inflater must be kept for the whole
+ *   connection, because frames refer back to earlier ones; without it,
+ *   each frame inflates on its own.
+ *
+ * With context takeover the compression window is kept between frames,
+ * which compresses repetitive JSON keys much better at the cost of
+ * holding a Deflater per connection. Without it the Deflater is reset
+ * after every frame.
+ *
+ * Each instance is only used by its session's writer; methods are
+ * synchronized so a concurrent close cannot free the Deflater mid-frame.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+public class FrameCompressor {
+
+    // Trailer removed from every compressed frame, as in RFC 7692
+    private static final byte[] SYNC_TRAILER = {0x00, 0x00, (byte) 0xFF, (byte) 0xFF};
+
+    private final Deflater deflater;
+    private final int minSize;
+    private final boolean contextTakeover;
+    private final Stats stats;
+    private final byte[] buffer = new byte[8192];
+    private boolean closed;
+
+    /**
+     * Create a compressor for one connection.
+     *
+     * @param level DEFLATE compression level (1-9)
+     * @param minSize Smallest payload, in bytes, that is compressed
+     * @param contextTakeover Whether to keep the compression window between frames
+     * @param stats Shared counters to update
+     */
+    public FrameCompressor(int level, int minSize, boolean contextTakeover, Stats stats) {
+        this.deflater = new Deflater(level, true);
+        this.minSize = minSize;
+        this.contextTakeover = contextTakeover;
+        this.stats = stats;
+    }
+
+    /**
+     * Compress a frame if it is a text frame at or above the size threshold.
+     *
+     * @param frame The outbound frame
+     * @return The compressed binary frame, or the original frame
+     */
+    public synchronized WebSocketMessage<?> compress(WebSocketMessage<?> frame) {
+        if (closed || !(frame instanceof TextMessage text) || text.getPayloadLength() < minSize) {
+            stats.skippedFrames.increment();
+            return frame;
+        }
+
+        long startTime = System.nanoTime();
+        byte[] input = text.asBytes();
+
+        deflater.setInput(input);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 2));
+        int count;
+        do {
+            count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+            out.write(buffer, 0, count);
+        } while (count == buffer.length);
+
+        byte[] compressed = out.toByteArray();
+        int length = compressed.length;
+        if (length >= SYNC_TRAILER.length
+                && Arrays.equals(compressed, length - SYNC_TRAILER.length, length, SYNC_TRAILER, 0, SYNC_TRAILER.length)) {
+            length -= SYNC_TRAILER.length;
+        }
+
+        if (!contextTakeover) {
+            deflater.reset();
+        }
+
+        stats.compressedFrames.increment();
+        stats.bytesIn.add(input.length);
+        stats.bytesOut.add(length);
+        stats.compressNanos.add(System.nanoTime() - startTime);
+
+        return new BinaryMessage(Arrays.copyOf(compressed, length));
+    }
+
+    /**
+     * Release the native compression buffers.
+     */
+    public synchronized void close() {
+        closed = true;
+        deflater.end();
+    }
+
+    /**
+     * Compression counters shared by all connections.
+     */
+    public static class Stats {
+
+        private final LongAdder compressedFrames = new LongAdder();
+        private final LongAdder skippedFrames = new LongAdder();
+        private final LongAdder bytesIn = new LongAdder();
+        private final LongAdder bytesOut = new LongAdder();
+        private final LongAdder compressNanos = new LongAdder();
+
+        /**
+         * Get the counters for monitoring.
+         *
+         * @return Compression counters keyed by name
+         */
+        public Map<String, Object> toMap() {
+            long in = bytesIn.sum();
+            long out = bytesOut.sum();
+            return Map.of(
+                "compressedFrames", compressedFrames.sum(),
+                "skippedFrames", skippedFrames.sum(),
+                "bytesIn", in,
+                "bytesOut", out,
+                "ratio", in > 0 ? (double) out / in : 1.0,
+                "compressMicros", compressNanos.sum() / 1000
+            );
+        }
+    }
+}
@@ -7,7 +7,10 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,9 +22,11 @@ import java.util.Map;
 /**
  * Filter for JWT tokens.
  *
+ * Users listed in users.admin.usernames are granted ROLE_ADMIN.
+ *
  * @authors Clement Luo,
  * @date May 11, 2025
- * @edited May 11, 2025
+ * @edited October 16, 2026
  * @since 1.0
  */
 @Component
@@ -29,7 +34,13 @@ import java.util.Map;
 @Slf4j
 public class JWTFilter extends OncePerRequestFilter {
 
-    private final JWTUtil jwtutil;
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+
+    // Usernames allowed to call admin routes
+    @Value("${users.admin.usernames:}")
+    private List<String> adminUsernames;
+
+    private final VerifiedTokenCache tokenCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -57,11 +68,12 @@ public class JWTFilter extends OncePerRequestFilter {
             ));
             
             try {
-                jwtutil.validateToken(jwt); // Only validates, throws if invalid
-                String username = jwtutil.getUsernameFromToken(jwt); // Extract username
+                // Throws if the token is invalid or expired; repeat tokens skip parsing
+                String username = tokenCache.verify(jwt).getUsername();
                 
                 UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(username, null, List.of());
+                        new UsernamePasswordAuthenticationToken(username, null,
+                                adminUsernames.contains(username) ? ADMIN_AUTHORITIES : List.of());
                 SecurityContextHolder.getContext().setAuthentication(auth);
                 
                 log.info("JWT authentication successful", Map.of(
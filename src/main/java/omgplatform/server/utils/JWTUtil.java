@@ -1,12 +1,20 @@
 package omgplatform.server.utils;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.VerifiedClaims;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
@@ -15,15 +23,22 @@ import java.util.Map;
 /**
  * JWT token utilities.
  *
+ * The signing key and parser are built once at startup. Callers verify
+ * a token with a single call to verify, which checks the signature and
+ * expiry and returns the claims.
+ *
  * @authors Clement Luo,
  * @date May 11, 2025
- * @edited June 29, 2025
+ * @edited October 16, 2026
  * @since 1.0
  */
 @Component
 @Slf4j
 public class JWTUtil {
 
+    // Claim holding the user id
+    private static final String USER_ID_CLAIM = "uid";
+
     @Value("${jwt.expiry.minutes:1440}")
     private int expiryMinutes;
 
@@ -33,20 +48,45 @@ public class JWTUtil {
     @Value("${jwt.signature.algorithm:HS256}")
     private String signatureAlgorithm;
 
+    // Signing key and parser, built once at startup
+    private SecretKey signingKey;
+    private SignatureAlgorithm algorithm;
+    private JwtParser parser;
+
+    /**
+     * Derive the signing key and build the token parser.
+     *
+     * Both are immutable and thread-safe, so every request shares them.
+     */
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        algorithm = SignatureAlgorithm.forName(signatureAlgorithm);
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     /**
+     * Generate a signed token for a user.
+     *
+     * The user id travels in the token so WebSocket sessions can be
+     * authenticated from the claims alone.
      *
+     * @param userId The id of the user
+     * @param username The username to issue the token to
+     * @return The compact JWT
      */
-    public String generateToken(String username) {
+    public String generateToken(Long userId, String username) {
         long startTime = System.currentTimeMillis();
         
         try {
-            SignatureAlgorithm alg = SignatureAlgorithm.forName(signatureAlgorithm);
-            
             String token = Jwts.builder()
                     .setSubject(username)
+                    .claim(USER_ID_CLAIM, userId)
                     .setIssuedAt(new Date())
                     .setExpiration(Date.from(Instant.now().plus(expiryMinutes, ChronoUnit.MINUTES)))
-                    .signWith(Keys.hmacShaKeyFor(secret.getBytes()), alg)
+                    .signWith(signingKey, algorithm)
                     .compact();
             
             long duration = System.currentTimeMillis() - startTime;
@@ -60,85 +100,46 @@ public class JWTUtil {
             
             return token;
         } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
             log.error("Failed to generate JWT token for user: " + username, e);
             throw e;
         }
     }
 
-    public void validateToken(String token) {
+    /**
+     * Verify a token and return its claims.
+     *
+     * Parses the token and checks its signature and expiry exactly once.
+     *
+     * @param token The compact JWT
+     * @return The verified claims
+     * @throws JwtException if the token is malformed, forged or expired
+     */
+    public VerifiedClaims verify(String token) {
         long startTime = System.currentTimeMillis();
         
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(secret.getBytes())
-                    .build()
-                    .parseClaimsJws(token);
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getSubject() == null) {
+                throw new MalformedJwtException("Token has no subject");
+            }
             
-            long duration = System.currentTimeMillis() - startTime;
-            log.debug("JWT token validation successful", Map.of(
-                "tokenLength", token.length(),
-                "duration", duration
-            ));
+            VerifiedClaims verified = new VerifiedClaims(
+                claims.get(USER_ID_CLAIM, Long.class),
+                claims.getSubject(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+            );
             
-        } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
-            log.error("JWT token validation failed", e);
-            throw e;
-        }
-    }
-
-    public String getUsernameFromToken(String token) {
-        long startTime = System.currentTimeMillis();
-        
-        try {
-            String username = Jwts.parserBuilder()
-                    .setSigningKey(secret.getBytes())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
-            
-            long duration = System.currentTimeMillis() - startTime;
-            log.debug("Username extracted from JWT token", Map.of(
-                "username", username,
+            log.debug("JWT token verified", Map.of(
+                "username", verified.getUsername(),
                 "tokenLength", token.length(),
                 "duration", duration
             ));
             
-            return username;
-        } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
-            log.error("Failed to extract username from JWT token", e);
-            throw e;
-        }
-    }
-
-    public boolean isTokenExpired(String token) {
-        long startTime = System.currentTimeMillis();
-        
-        try {
-            Date expiration = Jwts.parserBuilder()
-                    .setSigningKey(secret.getBytes())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getExpiration();
-            
-            boolean expired = expiration.before(new Date());
-            long duration = System.currentTimeMillis() - startTime;
-            
-            log.debug("JWT token expiration check", Map.of(
-                "expired", expired,
-                "expirationDate", expiration.toString(),
-                "currentDate", new Date().toString(),
-                "duration", duration
-            ));
-            
-            return expired;
-        } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
-            log.error("Failed to check JWT token expiration", e);
+            return verified;
+        } catch (JwtException e) {
+            log.debug("JWT token verification failed: " + e.getMessage());
             throw e;
         }
     }
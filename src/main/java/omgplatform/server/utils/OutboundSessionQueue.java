@@ -0,0 +1,357 @@
+package omgplatform.server.utils;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded, ordered outbound queue for a single WebSocket session.
+ *
+ * Callers only enqueue frames and return immediately. A writer task on the
+ * supplied executor drains the queue in FIFO order, and at most one writer
+ * runs per session, so the underlying session never sees concurrent sends.
+ *
+ * The session is closed as a slow consumer when:
+ * - a single send has been in progress for longer than the send time limit
+ * - the bytes waiting in the queue exceed the buffer size limit
+ *
+ * When batching is enabled, JSON text frames offered through enqueueBatched
+ * are coalesced while the writer is busy and sent as one JSON array frame.
+ * A batch is flushed when the writer goes idle, when the batch window
+ * elapses, when the batch reaches its size cap, or before any unbatched
+ * frame so ordering is preserved. Frames offered while the session is idle
+ * go out immediately.
+ *
+ * When the session negotiated compression, the writer compresses each
+ * frame just before sending it, so the compression context follows the
+ * exact send order.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Slf4j
+public class OutboundSessionQueue {
+
+    @Getter
+    private final WebSocketSession session;
+    private final Executor writerExecutor;
+    private final long sendTimeLimitMs;
+    private final int bufferSizeLimit;
+
+    // Batching settings (window <= 0 disables batching)
+    private final ScheduledExecutorService flushScheduler;
+    private final long batchWindowMs;
+    private final int batchMaxBytes;
+
+    // Compressor for this connection (null when not negotiated)
+    private final FrameCompressor compressor;
+
+    // Frames waiting to be written, in send order
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+
+    // Total payload bytes currently waiting in the queue
+    private final AtomicInteger bufferSize = new AtomicInteger();
+
+    // Whether a writer task is currently scheduled or running
+    private final AtomicBoolean writing = new AtomicBoolean();
+
+    // Pending batch, guarded by batchLock
+    private final Object batchLock = new Object();
+    private final List<TextMessage> batch = new ArrayList<>();
+    private int batchBytes;
+    private ScheduledFuture<?> flushTask;
+
+    // Start of the send in progress (0 when idle)
+    private volatile long sendStartTime;
+
+    private volatile boolean closed;
+
+    /**
+     * Create an outbound queue for a session.
+     *
+     * @param session The WebSocket session to write to
+     * @param writerExecutor The executor that runs the writer task
+     * @param sendTimeLimitMs Maximum time a single send may take
+     * @param bufferSizeLimit Maximum number of queued payload bytes
+     * @param flushScheduler Scheduler for batch window flushes
+     * @param batchWindowMs Maximum time a frame may wait in a batch (0 disables batching)
+     * @param batchMaxBytes Batch size that triggers an immediate flush
+     * @param compressor Compressor applied by the writer, or null
+     */
+    public OutboundSessionQueue(WebSocketSession session, Executor writerExecutor,
+                                long sendTimeLimitMs, int bufferSizeLimit,
+                                ScheduledExecutorService flushScheduler, long batchWindowMs, int batchMaxBytes,
+                                FrameCompressor compressor) {
+        this.session = session;
+        this.writerExecutor = writerExecutor;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.flushScheduler = flushScheduler;
+        this.batchWindowMs = batchWindowMs;
+        this.batchMaxBytes = batchMaxBytes;
+        this.compressor = compressor;
+    }
+
+    /**
+     * Queue a frame for sending. Never blocks on the network.
+     *
+     * Any pending batch is flushed first so the frame keeps its order.
+     *
+     * @param message The frame to send
+     * @return Whether the frame was accepted
+     */
+    public boolean enqueue(WebSocketMessage<?> message) {
+        if (!isBatching()) {
+            return offer(message);
+        }
+
+        synchronized (batchLock) {
+            flushBatchLocked();
+            return offer(message);
+        }
+    }
+
+    /**
+     * Queue a text frame that may be coalesced with others.
+     *
+     * Falls back to a plain enqueue when batching is disabled.
+     *
+     * @param message The JSON text frame to send
+     * @return Whether the frame was accepted
+     */
+    public boolean enqueueBatched(TextMessage message) {
+        if (!isBatching()) {
+            return offer(message);
+        }
+        if (closed || !session.isOpen()) {
+            return false;
+        }
+
+        synchronized (batchLock) {
+            // Nothing in flight, so waiting would only add latency
+            if (batch.isEmpty() && !writing.get() && queue.isEmpty()) {
+                return offer(message);
+            }
+
+            batch.add(message);
+            batchBytes += message.getPayloadLength();
+
+            if (batchBytes >= batchMaxBytes) {
+                return flushBatchLocked();
+            }
+            if (flushTask == null) {
+                flushTask = flushScheduler.schedule(this::flushBatch, batchWindowMs, TimeUnit.MILLISECONDS);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Close the queue and the underlying session, dropping pending frames.
+     *
+     * @param status The close status to send to the client
+     */
+    public void close(CloseStatus status) {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.clear();
+        bufferSize.set(0);
+
+        if (isBatching()) {
+            synchronized (batchLock) {
+                cancelFlushTask();
+                batch.clear();
+                batchBytes = 0;
+            }
+        }
+
+        if (compressor != null) {
+            compressor.close();
+        }
+
+        try {
+            session.close(status);
+        } catch (IOException e) {
+            log.debug("Failed to close session: " + session.getId(), e);
+        }
+    }
+
+    /**
+     * Get the number of payload bytes waiting to be written.
+     *
+     * @return Queued bytes
+     */
+    public int getBufferSize() {
+        return bufferSize.get();
+    }
+
+    /**
+     * Check whether the queue still accepts frames.
+     *
+     * @return Whether the queue and session are open
+     */
+    public boolean isOpen() {
+        return !closed && session.isOpen();
+    }
+
+    private boolean isBatching() {
+        return batchWindowMs > 0 && flushScheduler != null;
+    }
+
+    private boolean offer(WebSocketMessage<?> message) {
+        if (closed || !session.isOpen()) {
+            return false;
+        }
+
+        if (isSendTimeLimitExceeded()) {
+            closeSlowConsumer("Send time limit exceeded");
+            return false;
+        }
+
+        int length = message.getPayloadLength();
+        if (bufferSize.addAndGet(length) > bufferSizeLimit) {
+            bufferSize.addAndGet(-length);
+            closeSlowConsumer("Buffer size limit exceeded");
+            return false;
+        }
+
+        queue.add(new Pending(message, length));
+        scheduleWriter();
+        return true;
+    }
+
+    private void flushBatch() {
+        synchronized (batchLock) {
+            flushBatchLocked();
+        }
+    }
+
+    private boolean flushBatchLocked() {
+        cancelFlushTask();
+        if (batch.isEmpty()) {
+            return true;
+        }
+
+        TextMessage frame = batch.size() == 1 ? batch.get(0) : toArrayFrame(batch);
+        batch.clear();
+        batchBytes = 0;
+        return offer(frame);
+    }
+
+    private void cancelFlushTask() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+    }
+
+    /**
+     * Splice already encoded JSON frames into a single JSON array frame
+     * without re-serializing them.
+     */
+    private static TextMessage toArrayFrame(List<TextMessage> frames) {
+        int size = frames.size() + 1;
+        for (TextMessage frame : frames) {
+            size += frame.getPayloadLength();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        out.write('[');
+        for (int i = 0; i < frames.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(frames.get(i).asBytes());
+        }
+        out.write(']');
+        return new TextMessage(out.toByteArray());
+    }
+
+    private boolean isSendTimeLimitExceeded() {
+        long start = sendStartTime;
+        return start > 0 && System.currentTimeMillis() - start > sendTimeLimitMs;
+    }
+
+    private void closeSlowConsumer(String reason) {
+        log.warn("Disconnecting slow WebSocket consumer", Map.of(
+            "sessionId", session.getId(),
+            "reason", reason,
+            "bufferSize", bufferSize.get()
+        ));
+        close(CloseStatus.SESSION_NOT_RELIABLE.withReason(reason));
+    }
+
+    private void scheduleWriter() {
+        if (!writing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            writerExecutor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            writing.set(false);
+            log.error("Writer rejected for session: " + session.getId(), e);
+        }
+    }
+
+    private void drain() {
+        try {
+            Pending pending;
+            while (!closed && (pending = queue.poll()) != null) {
+                // Sending consumes a binary payload, so use the length taken at enqueue time
+                bufferSize.addAndGet(-pending.length());
+                WebSocketMessage<?> message = pending.message();
+                sendStartTime = System.currentTimeMillis();
+                try {
+                    session.sendMessage(compressor != null ? compressor.compress(message) : message);
+                } catch (IOException | IllegalStateException e) {
+                    log.error("Failed to send message to session: " + session.getId(), e);
+                    close(CloseStatus.SESSION_NOT_RELIABLE);
+                } finally {
+                    sendStartTime = 0;
+                }
+            }
+        } finally {
+            writing.set(false);
+        }
+
+        if (closed) {
+            return;
+        }
+
+        // A frame may have been queued after the last poll but before the flag was cleared
+        if (!queue.isEmpty()) {
+            scheduleWriter();
+        } else if (isBatching()) {
+            // The writer is idle, so send whatever was batched behind it
+            flushBatch();
+        }
+    }
+
+    /**
+     * A queued frame and the payload length counted against the buffer limit.
+     */
+    private record Pending(WebSocketMessage<?> message, int length) {
+    }
+}
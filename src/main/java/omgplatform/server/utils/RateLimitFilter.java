@@ -0,0 +1,254 @@
+package omgplatform.server.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits the public login and registration endpoints.
+ *
+ * Runs before JWTFilter. Every attempt at these endpoints costs a database
+ * lookup and a BCrypt hash, so abusive traffic is rejected here with 429
+ * and a Retry-After header before it reaches UserService.
+ *
+ * Each endpoint has its own limits per remote address and per username.
+ * The username is read from the JSON body, which is buffered so the
+ * controller can still read it. Bodies over 8 KB are rejected outright.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/users/login";
+    private static final String REGISTER_PATH = "/users/register";
+
+    // Largest body read when looking for the username
+    private static final int MAX_BODY_BYTES = 8192;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Value("${ratelimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ratelimit.login.ip-per-minute:30}")
+    private int loginIpLimit;
+
+    @Value("${ratelimit.login.username-per-minute:10}")
+    private int loginUsernameLimit;
+
+    @Value("${ratelimit.register.ip-per-minute:10}")
+    private int registerIpLimit;
+
+    @Value("${ratelimit.register.username-per-minute:5}")
+    private int registerUsernameLimit;
+
+    // Limiters per endpoint
+    private RateLimiter loginByIp;
+    private RateLimiter loginByUsername;
+    private RateLimiter registerByIp;
+    private RateLimiter registerByUsername;
+
+    /**
+     * Create the limiters from configuration.
+     */
+    @PostConstruct
+    public void init() {
+        loginByIp = new RateLimiter(loginIpLimit);
+        loginByUsername = new RateLimiter(loginUsernameLimit);
+        registerByIp = new RateLimiter(registerIpLimit);
+        registerByUsername = new RateLimiter(registerUsernameLimit);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getServletPath();
+        return !LOGIN_PATH.equals(path) && !REGISTER_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        boolean login = LOGIN_PATH.equals(request.getServletPath());
+        RateLimiter byIp = login ? loginByIp : registerByIp;
+        RateLimiter byUsername = login ? loginByUsername : registerByUsername;
+
+        String remoteAddress = request.getRemoteAddr();
+        long wait = byIp.tryAcquire(remoteAddress);
+        if (wait > 0) {
+            reject(response, wait, request.getServletPath(), "ip");
+            return;
+        }
+
+        CachedBodyRequest cached = new CachedBodyRequest(request);
+        if (cached.isTruncated()) {
+            response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+        
+        String username = cached.readUsername();
+        if (username != null) {
+            wait = byUsername.tryAcquire(username.toLowerCase());
+            if (wait > 0) {
+                reject(response, wait, request.getServletPath(), "username");
+                return;
+            }
+        }
+
+        filterChain.doFilter(cached, response);
+    }
+
+    /**
+     * Get rate limiting statistics for monitoring.
+     *
+     * @return Limiter counters keyed by endpoint and key type
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loginByIp", loginByIp.getStats());
+        stats.put("loginByUsername", loginByUsername.getStats());
+        stats.put("registerByIp", registerByIp.getStats());
+        stats.put("registerByUsername", registerByUsername.getStats());
+        return stats;
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos, String path, String keyType) {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        log.warn("Rate limit exceeded", Map.of(
+            "uri", path,
+            "key", keyType,
+            "retryAfter", retryAfter
+        ));
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+    }
+
+    /**
+     * Request whose body has been read into memory so it can be read again.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        }
+
+        /**
+         * Check whether the body was longer than the buffer limit.
+         *
+         * @return Whether the body was cut off
+         */
+        boolean isTruncated() {
+            return body.length > MAX_BODY_BYTES;
+        }
+
+        /**
+         * Read the top-level "username" field of a JSON body.
+         *
+         * @return The username, or null if the body has none or is not JSON
+         */
+        String readUsername() {
+            try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return null;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    if ("username".equals(field)) {
+                        return parser.getValueAsString();
+                    }
+                    parser.skipChildren();
+                }
+            } catch (IOException e) {
+                // Malformed bodies are rejected by the controller
+            }
+            return null;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The body is already in memory, so the listener is told
+                 * it can read straight away, on the calling thread.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package omgplatform.server.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size ring of the most recent frames published to one topic.
+ *
+ * Sequence numbers are issued by the ring itself, densely from base + 1,
+ * so a frame's slot is its sequence number modulo the capacity and no
+ * per-frame nodes are allocated. Each ring gets its own base, so a topic
+ * whose ring was dropped and recreated never reuses a sequence number.
+ *
+ * The ring also holds at most maxBytes of frames: once over, the oldest
+ * frames are dropped until it fits again (the newest frame is always
+ * kept), and resuming from before them requires a snapshot.
+ *
+ * Callers synchronize on the ring to keep issuing a sequence number,
+ * storing the frame and queueing it for subscribers in one step; this
+ * keeps delivery in sequence order.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+public class ReplayRing {
+
+    private final long[] sequences;
+    private final SharedFrame[] frames;
+    private final int[] sizes;
+    private final int mask;
+
+    // Most bytes of frames held
+    private final long maxBytes;
+
+    // Bytes of the frames held
+    private long bytes;
+
+    // Oldest sequence number that may still be held
+    private long floor;
+
+    // Sequence number before the first one this ring issued
+    private final long base;
+
+    // Last sequence number issued
+    private long head;
+
+    /**
+     * Create an empty ring.
+     *
+     * @param capacity Frames kept (rounded up to a power of two)
+     * @param base Sequence number before the first one to issue
+     * @param maxBytes Most bytes of frames held
+     */
+    public ReplayRing(int capacity, long base, long maxBytes) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.sequences = new long[size];
+        this.frames = new SharedFrame[size];
+        this.sizes = new int[size];
+        this.mask = size - 1;
+        this.maxBytes = maxBytes;
+        this.base = base;
+        this.head = base;
+        this.floor = base + 1;
+    }
+
+    /**
+     * Issue the next sequence number.
+     *
+     * @return The sequence number
+     */
+    public synchronized long next() {
+        return ++head;
+    }
+
+    /**
+     * Store the frame for a sequence number, evicting the oldest frames
+     * when the ring is out of slots or over its byte limit.
+     *
+     * @param seq A sequence number from next()
+     * @param frame The frame sent with it
+     * @param size The frame's encoded size in bytes
+     */
+    public synchronized void add(long seq, SharedFrame frame, int size) {
+        // Slots this sequence number wraps onto are no longer held
+        while (floor <= seq - frames.length) {
+            evict(floor++);
+        }
+
+        int slot = (int) (seq & mask);
+        sequences[slot] = seq;
+        frames[slot] = frame;
+        sizes[slot] = size;
+        bytes += size;
+
+        while (bytes > maxBytes && floor < seq) {
+            evict(floor++);
+        }
+    }
+
+    /**
+     * Get every frame after a sequence number, oldest first.
+     *
+     * @param lastSeq The last sequence number the client received
+     * @return The missing frames (possibly none), or null if some are no longer held
+     */
+    public synchronized List<SharedFrame> since(long lastSeq) {
+        if (lastSeq < floor - 1 || lastSeq > head) {
+            return null;
+        }
+
+        List<SharedFrame> missed = new ArrayList<>((int) (head - lastSeq));
+        for (long seq = lastSeq + 1; seq <= head; seq++) {
+            int slot = (int) (seq & mask);
+            if (sequences[slot] != seq) {
+                // Issued but never stored (the publish failed), or not stored yet
+                continue;
+            }
+            missed.add(frames[slot]);
+        }
+        return missed;
+    }
+
+    /**
+     * Get the bytes of frames held.
+     *
+     * @return The total encoded size of the frames held
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get the last sequence number issued.
+     *
+     * @return The head sequence number
+     */
+    public synchronized long getHead() {
+        return head;
+    }
+
+    private void evict(long seq) {
+        int slot = (int) (seq & mask);
+        if (sequences[slot] == seq) {
+            bytes -= sizes[slot];
+            sequences[slot] = 0;
+            frames[slot] = null;
+            sizes[slot] = 0;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package omgplatform.server.utils;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window of the sequence numbers seen from one sender.
+ *
+ * Keeps the highest sequence number seen and one bit for each of the
+ * size numbers up to it, so numbers that arrive out of order are still
+ * accepted once, and only real repeats are rejected. Numbers that fall
+ * behind the window cannot be told apart from repeats and are rejected.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+public class SequenceWindow {
+
+    private final long[] seen;
+    private final int size;
+
+    // Highest sequence number accepted (0 before the first)
+    private long highest;
+
+    /**
+     * Create an empty window.
+     *
+     * @param size Sequence numbers tracked behind the highest (rounded up to a multiple of 64)
+     */
+    public SequenceWindow(int size) {
+        this.seen = new long[Math.max(1, (size + 63) / 64)];
+        this.size = seen.length * 64;
+    }
+
+    /**
+     * Record a sequence number if it has not been seen.
+     *
+     * @param seq The sequence number (starting from 1)
+     * @return true the first time seq is seen; false for a repeat or a number behind the window
+     */
+    public synchronized boolean accept(long seq) {
+        if (seq <= highest - size || seq <= 0) {
+            return false;
+        }
+
+        if (seq > highest) {
+            // Clear the slots the window slides over
+            if (seq - highest >= size) {
+                Arrays.fill(seen, 0L);
+            } else {
+                for (long s = highest + 1; s < seq; s++) {
+                    clear(s);
+                }
+            }
+            highest = seq;
+            set(seq);
+            return true;
+        }
+
+        if (isSet(seq)) {
+            return false;
+        }
+        set(seq);
+        return true;
+    }
+
+    /**
+     * Get the highest sequence number accepted.
+     *
+     * @return The highest sequence number, or 0 if none
+     */
+    public synchronized long getHighest() {
+        return highest;
+    }
+
+    private int slot(long seq) {
+        return (int) Math.floorMod(seq, (long) size);
+    }
+
+    private boolean isSet(long seq) {
+        int slot = slot(seq);
+        return (seen[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    private void set(long seq) {
+        int slot = slot(seq);
+        seen[slot >>> 6] |= 1L << slot;
+    }
+
+    private void clear(long seq) {
+        int slot = slot(seq);
+        seen[slot >>> 6] &= ~(1L << slot);
+    }
+}
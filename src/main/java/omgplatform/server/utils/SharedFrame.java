@@ -0,0 +1,108 @@
+package omgplatform.server.utils;
+
+import lombok.Getter;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A message encoded at most once per codec and shared by all recipients.
+ *
+ * Encoding happens lazily the first time a recipient using a codec asks
+ * for it; every later request reuses the encoded bytes. Text frames are
+ * immutable and shared as is. Sending a binary frame consumes its payload
+ * buffer, so every binary recipient gets its own frame over a duplicate
+ * of the cached buffer, and the cached frame itself is never sent.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+public class SharedFrame {
+
+    @Getter
+    private final Object message;
+
+    // Message type, used to decide whether the frame may be batched
+    @Getter
+    private final String type;
+
+    // Encoded frames indexed by codec ordinal
+    private final AtomicReferenceArray<WebSocketMessage<?>> frames =
+            new AtomicReferenceArray<>(WebSocketCodec.values().length);
+
+    private final LongAdder encodeCounter;
+    private final LongAdder reuseCounter;
+
+    /**
+     * Create a shared frame.
+     *
+     * @param message The message to encode
+     * @param type The message type
+     * @param encodeCounter Incremented on every serialization
+     * @param reuseCounter Incremented every time an encoded frame is reused
+     */
+    public SharedFrame(Object message, String type, LongAdder encodeCounter, LongAdder reuseCounter) {
+        this.message = message;
+        this.type = type;
+        this.encodeCounter = encodeCounter;
+        this.reuseCounter = reuseCounter;
+    }
+
+    /**
+     * Get the frame for a session's negotiated codec.
+     *
+     * @param session The recipient session
+     * @return The encoded frame
+     */
+    public WebSocketMessage<?> forSession(WebSocketSession session) {
+        return forCodec(WebSocketCodec.forSession(session));
+    }
+
+    /**
+     * Get the frame for a codec, encoding it on first use.
+     *
+     * @param codec The wire codec
+     * @return The encoded frame
+     */
+    public WebSocketMessage<?> forCodec(WebSocketCodec codec) {
+        WebSocketMessage<?> frame = frames.get(codec.ordinal());
+        if (frame == null) {
+            // Lanes that miss together wait for one encode instead of each encoding
+            synchronized (this) {
+                frame = frames.get(codec.ordinal());
+                if (frame == null) {
+                    frame = encode(codec);
+                    frames.set(codec.ordinal(), frame);
+                    return forSend(frame);
+                }
+            }
+        }
+        reuseCounter.increment();
+        return forSend(frame);
+    }
+
+    private WebSocketMessage<?> encode(WebSocketCodec codec) {
+        encodeCounter.increment();
+        try {
+            return codec.encode(message);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode message", e);
+        }
+    }
+
+    /**
+     * Give a binary frame its own buffer position and limit over the shared bytes.
+     */
+    private static WebSocketMessage<?> forSend(WebSocketMessage<?> frame) {
+        if (frame instanceof BinaryMessage binary) {
+            return new BinaryMessage(binary.getPayload().duplicate(), binary.isLast());
+        }
+        return frame;
+    }
+}
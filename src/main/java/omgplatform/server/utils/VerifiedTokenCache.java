@@ -0,0 +1,148 @@
+package omgplatform.server.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.VerifiedClaims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Cache of verified JWT tokens.
+ *
+ * Clients send the same bearer token on every request until it expires,
+ * so a verified token is remembered and later requests skip parsing and
+ * the signature check entirely. Only successful verifications are cached.
+ *
+ * Entries are keyed by a SHA-256 digest of the token (the token itself is
+ * never kept), bounded in number with W-TinyLFU eviction, and expire no
+ * later than the token's own expiry. The cache can be disabled, in which
+ * case every call verifies the token.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VerifiedTokenCache {
+
+    @Value("${jwt.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private long maxSize;
+
+    // Cached claims keyed by token digest (null when disabled)
+    private Cache<ByteBuffer, VerifiedClaims> cache;
+
+    // Components
+    private final JWTUtil jwtUtil;
+
+    /**
+     * Build the cache if it is enabled.
+     */
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("Verified JWT cache disabled");
+            return;
+        }
+
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Verify a token, reusing an earlier verification when possible.
+     *
+     * @param token The compact JWT
+     * @return The verified claims
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+     */
+    public VerifiedClaims verify(String token) {
+        if (cache == null) {
+            return jwtUtil.verify(token);
+        }
+
+        ByteBuffer key = digest(token);
+        VerifiedClaims claims = cache.getIfPresent(key);
+        if (claims != null && !claims.isExpired(Instant.now())) {
+            return claims;
+        }
+
+        claims = jwtUtil.verify(token);
+        cache.put(key, claims);
+        return claims;
+    }
+
+    /**
+     * Get cache statistics for monitoring.
+     *
+     * @return Cache counters keyed by name
+     */
+    public Map<String, Object> getStats() {
+        if (cache == null) {
+            return Map.of("enabled", false);
+        }
+
+        CacheStats stats = cache.stats();
+        return Map.of(
+            "enabled", true,
+            "size", cache.estimatedSize(),
+            "hits", stats.hitCount(),
+            "misses", stats.missCount(),
+            "hitRate", stats.hitRate(),
+            "evictions", stats.evictionCount()
+        );
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Expires each entry when its token expires.
+     */
+    private static class TokenExpiry implements Expiry<ByteBuffer, VerifiedClaims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedClaims claims, long currentTime) {
+            if (claims.getExpiresAt() == null) {
+                return Long.MAX_VALUE;
+            }
+            return Math.max(0, Duration.between(Instant.now(), claims.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package omgplatform.server.utils;
+
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import omgplatform.server.dto.SessionPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Authenticates WebSocket connections during the handshake.
+ *
+ * The JWT is read from the "access_token" query parameter, or from a
+ * "bearer.<token>" entry in the Sec-WebSocket-Protocol header for clients
+ * that cannot set query parameters. Such clients must also offer a codec
+ * subprotocol, since that is the one the server selects. A valid token puts a SessionPrincipal
+ * built from its claims into the session attributes; an invalid one
+ * rejects the handshake with 401.
+ *
+ * Connections without a token are accepted and must send an AUTH message,
+ * unless handshake authentication is required.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WebSocketAuthInterceptor implements HandshakeInterceptor {
+
+    // Session attribute holding the SessionPrincipal
+    public static final String PRINCIPAL_ATTRIBUTE = "omg.principal";
+
+    private static final String TOKEN_PARAMETER = "access_token";
+    private static final String PROTOCOL_TOKEN_PREFIX = "bearer.";
+
+    // Whether connections without a token are refused
+    @Value("${websocket.auth.require-handshake:false}")
+    private boolean requireHandshake;
+
+    // Components
+    private final VerifiedTokenCache tokenCache;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String token = findToken(request);
+        if (token == null) {
+            if (requireHandshake) {
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
+                return false;
+            }
+            return true;
+        }
+
+        try {
+            SessionPrincipal principal = SessionPrincipal.of(tokenCache.verify(token));
+            attributes.put(PRINCIPAL_ATTRIBUTE, principal);
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("WebSocket handshake rejected", Map.of(
+                "remoteAddress", String.valueOf(request.getRemoteAddress()),
+                "error", String.valueOf(e.getMessage())
+            ));
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    private static String findToken(ServerHttpRequest request) {
+        String token = UriComponentsBuilder.fromUri(request.getURI())
+                .build()
+                .getQueryParams()
+                .getFirst(TOKEN_PARAMETER);
+        if (token != null && !token.isEmpty()) {
+            return token;
+        }
+
+        List<String> protocols = request.getHeaders().get("Sec-WebSocket-Protocol");
+        if (protocols != null) {
+            for (String header : protocols) {
+                for (String protocol : header.split(",")) {
+                    protocol = protocol.trim();
+                    if (protocol.startsWith(PROTOCOL_TOKEN_PREFIX)) {
+                        return protocol.substring(PROTOCOL_TOKEN_PREFIX.length());
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,154 @@
+package omgplatform.server.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import lombok.Getter;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wire encodings a WebSocket client can negotiate through a subprotocol.
+ *
+ * - JSON: UTF-8 JSON in text frames (default when no subprotocol is requested)
+ * - SMILE: Jackson Smile (binary JSON) in binary frames
+ *
+ * Both encodings carry the same WebSocketMessage structure, so every
+ * message type works the same way over either one.
+ *
+ * Standard compression is negotiated separately, as the permessage-deflate
+ * extension, and works with either encoding. For clients that cannot use
+ * it, JSON may also be requested as the custom "omg.v1.json+x-omg-deflate"
+ * subprotocol (only offered when websocket.compression.enabled is set),
+ * which compresses outbound frames at the application level; see
+ * FrameCompressor for its wire format.
+ *
+ * @authors Clement Luo,
+ * @date October 16, 2026
+ * @since 1.0
+ */
+public enum WebSocketCodec {
+
+    JSON("omg.v1.json", new ObjectMapper()) {
+        @Override
+        public WebSocketMessage<?> toFrame(byte[] bytes) {
+            return new TextMessage(bytes);
+        }
+    },
+
+    SMILE("omg.v1.smile", new SmileMapper()) {
+        @Override
+        public WebSocketMessage<?> toFrame(byte[] bytes) {
+            return new BinaryMessage(bytes);
+        }
+    };
+
+    // Extension token of standard per-message compression (RFC 7692)
+    public static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    // Suffix of the custom subprotocol requesting app-level compressed frames (not permessage-deflate)
+    public static final String DEFLATE_SUFFIX = "+x-omg-deflate";
+
+    // Subprotocol name offered during the handshake
+    @Getter
+    private final String subprotocol;
+
+    @Getter
+    private final ObjectMapper mapper;
+
+    WebSocketCodec(String subprotocol, ObjectMapper mapper) {
+        this.subprotocol = subprotocol;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Wrap encoded bytes in the frame type this codec uses.
+     *
+     * @param bytes The encoded message
+     * @return A text or binary frame
+     */
+    public abstract WebSocketMessage<?> toFrame(byte[] bytes);
+
+    /**
+     * Encode a value into a frame.
+     *
+     * @param value The value to encode
+     * @return The encoded frame
+     * @throws IOException if serialization fails
+     */
+    public WebSocketMessage<?> encode(Object value) throws IOException {
+        return toFrame(mapper.writeValueAsBytes(value));
+    }
+
+    /**
+     * Decode the payload of a binary frame.
+     *
+     * @param payload The frame payload
+     * @param type The type to bind to
+     * @return The decoded value
+     * @throws IOException if the payload is malformed
+     */
+    public <T> T decode(ByteBuffer payload, Class<T> type) throws IOException {
+        if (payload.hasArray()) {
+            return mapper.readValue(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining(), type);
+        }
+        byte[] bytes = new byte[payload.remaining()];
+        payload.duplicate().get(bytes);
+        return mapper.readValue(bytes, type);
+    }
+
+    /**
+     * Get the codec negotiated for a session.
+     *
+     * @param session The WebSocket session
+     * @return The matching codec, or JSON when no subprotocol was accepted
+     */
+    public static WebSocketCodec forSession(WebSocketSession session) {
+        String accepted = session.getAcceptedProtocol();
+        if (accepted != null) {
+            if (accepted.endsWith(DEFLATE_SUFFIX)) {
+                accepted = accepted.substring(0, accepted.length() - DEFLATE_SUFFIX.length());
+            }
+            for (WebSocketCodec codec : values()) {
+                if (codec.subprotocol.equals(accepted)) {
+                    return codec;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * Check whether a session asked for app-level compressed outbound frames.
+     *
+     * @param session The WebSocket session
+     * @return Whether the custom "+x-omg-deflate" subprotocol was accepted
+     */
+    public static boolean isDeflate(WebSocketSession session) {
+        String accepted = session.getAcceptedProtocol();
+        return accepted != null && accepted.endsWith(DEFLATE_SUFFIX);
+    }
+
+    /**
+     * Get the subprotocols offered to clients.
+     *
+     * @param compression Whether to also offer the custom compressed JSON subprotocol
+     * @return Subprotocol names
+     */
+    public static List<String> subprotocols(boolean compression) {
+        List<String> protocols = new ArrayList<>();
+        for (WebSocketCodec codec : values()) {
+            protocols.add(codec.subprotocol);
+        }
+        if (compression) {
+            protocols.add(JSON.subprotocol + DEFLATE_SUFFIX);
+        }
+        return protocols;
+    }
+}
@@ -0,0 +1,3 @@
+-- Let Hibernate allocate user ids in blocks of 50 (pooled optimizer) so inserts can be batched.
+-- The sequence created by BIGSERIAL is kept; only its increment changes, so existing ids are untouched.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
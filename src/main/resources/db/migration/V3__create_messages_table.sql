@@ -0,0 +1,13 @@
+-- Chat history, partitioned by month on sent_at so old months can be detached or dropped cheaply.
+-- Monthly partitions (messages_YYYY_MM, UTC) are created ahead of time by ChatHistoryService.
+-- The primary key leads with topic, so it also serves per-room history reads, newest first.
+CREATE SEQUENCE messages_id_seq;
+
+CREATE TABLE messages (
+    id BIGINT NOT NULL DEFAULT nextval('messages_id_seq'),
+    topic VARCHAR NOT NULL,
+    sender VARCHAR NOT NULL,
+    payload TEXT,
+    sent_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (topic, sent_at, id)
+) PARTITION BY RANGE (sent_at);
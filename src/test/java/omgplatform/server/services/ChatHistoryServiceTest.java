@@ -0,0 +1,126 @@
+package omgplatform.server.services;
+
+import omgplatform.server.dto.WebSocketMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class ChatHistoryServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ChatHistoryService service;
+
+    // Size of each INSERT batch, recorded when it is written
+    private final List<Integer> batches = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        service = new ChatHistoryService(jdbcTemplate);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "queueCapacity", 100);
+        ReflectionTestUtils.setField(service, "batchSize", 10);
+        ReflectionTestUtils.setField(service, "lingerMs", 50L);
+        ReflectionTestUtils.setField(service, "partitionsAhead", 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private void recordBatches() {
+        doAnswer(invocation -> {
+            batches.add(invocation.<Collection<?>>getArgument(1).size());
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    private static WebSocketMessage chat(int i) {
+        WebSocketMessage message = WebSocketMessage.of("MESSAGE", "m" + i);
+        message.setTopic("lobby");
+        message.setSender("alice");
+        return message;
+    }
+
+    private int written() {
+        return batches.stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Test
+    void writesEveryMessageInBatchesNoLargerThanTheBatchSize() throws InterruptedException {
+        recordBatches();
+        service.init();
+
+        for (int i = 0; i < 25; i++) {
+            service.append(chat(i));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (written() < 25 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(written()).isEqualTo(25);
+        assertThat(batches).allMatch(size -> size <= 10);
+        assertThat(service.getStats()).containsEntry("written", 25L).containsEntry("dropped", 0L);
+    }
+
+    @Test
+    void dropsMessagesWhenTheQueueIsFull() throws InterruptedException {
+        ReflectionTestUtils.setField(service, "queueCapacity", 1);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            batches.add(invocation.<Collection<?>>getArgument(1).size());
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        service.init();
+
+        // The writer takes the first message and blocks writing it
+        service.append(chat(0));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        service.append(chat(1));
+        service.append(chat(2));
+
+        assertThat(service.getStats()).containsEntry("dropped", 1L).containsEntry("appended", 3L);
+        release.countDown();
+    }
+
+    @Test
+    void shutdownWritesWhatIsStillQueued() {
+        recordBatches();
+        service.init();
+
+        for (int i = 0; i < 5; i++) {
+            service.append(chat(i));
+        }
+        service.shutdown();
+
+        assertThat(written()).isEqualTo(5);
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatThrownBy(() -> service.getHistory("lobby", "nope", 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getHistory("lobby", "123", 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,112 @@
+package omgplatform.server.services;
+
+import omgplatform.server.dto.ClusterEnvelope;
+import omgplatform.server.dto.WebSocketMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClusterBusTest {
+
+    /**
+     * Bus whose transmit hands envelopes straight to a peer, on the publisher's thread.
+     */
+    private static class DirectBus extends ClusterBus {
+
+        private ClusterBus peer;
+
+        DirectBus(String nodeId) {
+            super(nodeId);
+        }
+
+        @Override
+        protected void transmit(ClusterEnvelope envelope) {
+            if (peer != null) {
+                peer.receive(envelope);
+            }
+        }
+    }
+
+    private static ClusterEnvelope envelope(String origin, long seq) {
+        return new ClusterEnvelope(origin, seq, "lobby", WebSocketMessage.system("lobby", "m" + seq));
+    }
+
+    @Test
+    void deliversReorderedEnvelopesAndDropsRepeats() {
+        DirectBus bus = new DirectBus("a");
+        List<Long> delivered = new CopyOnWriteArrayList<>();
+        bus.subscribe(e -> delivered.add(e.getSequence()));
+
+        bus.receive(envelope("b", 2));
+        bus.receive(envelope("b", 1));
+        bus.receive(envelope("b", 2));
+        bus.receive(envelope("b", 1));
+
+        assertThat(delivered).containsExactly(2L, 1L);
+        assertThat(bus.getStats()).containsEntry("duplicatesDropped", 2L);
+    }
+
+    @Test
+    void dropsOwnEnvelopes() {
+        DirectBus bus = new DirectBus("a");
+        List<ClusterEnvelope> delivered = new CopyOnWriteArrayList<>();
+        bus.subscribe(delivered::add);
+
+        bus.receive(envelope("a", 1));
+
+        assertThat(delivered).isEmpty();
+    }
+
+    @Test
+    void tracksOriginsSeparately() {
+        DirectBus bus = new DirectBus("a");
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        bus.subscribe(e -> delivered.add(e.getOriginNode() + e.getSequence()));
+
+        bus.receive(envelope("b", 1));
+        bus.receive(envelope("c", 1));
+
+        assertThat(delivered).containsExactly("b1", "c1");
+    }
+
+    @Test
+    void concurrentPublishersLoseNothing() throws InterruptedException {
+        DirectBus sender = new DirectBus("a");
+        DirectBus receiver = new DirectBus("b");
+        sender.peer = receiver;
+        Set<Long> delivered = ConcurrentHashMap.newKeySet();
+        receiver.subscribe(e -> delivered.add(e.getSequence()));
+
+        int threads = 8;
+        int perThread = 500;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    sender.publish("lobby", WebSocketMessage.system("lobby", "x"));
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(delivered).hasSize(threads * perThread);
+        assertThat(receiver.getStats()).containsEntry("duplicatesDropped", 0L);
+    }
+}
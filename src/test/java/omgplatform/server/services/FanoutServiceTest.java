@@ -0,0 +1,183 @@
+package omgplatform.server.services;
+
+import omgplatform.server.dto.WebSocketMessage;
+import omgplatform.server.utils.SharedFrame;
+import omgplatform.server.utils.WebSocketCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FanoutServiceTest {
+
+    private final WebSocketOutboundService outbound = mock(WebSocketOutboundService.class);
+    private final FanoutService fanout = new FanoutService(outbound);
+
+    // Frames each session received, in order
+    private final Map<String, List<org.springframework.web.socket.WebSocketMessage<?>>> received = new ConcurrentHashMap<>();
+
+    // Sends in progress per session, and the most seen for any session
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private final LongAdder encodes = new LongAdder();
+
+    private void start(String mode, int lanes) {
+        ReflectionTestUtils.setField(fanout, "mode", mode);
+        ReflectionTestUtils.setField(fanout, "executorType", "virtual");
+        ReflectionTestUtils.setField(fanout, "laneCount", lanes);
+        fanout.init();
+
+        doAnswer(invocation -> {
+            WebSocketSession session = invocation.getArgument(0);
+            AtomicInteger count = inFlight.computeIfAbsent(session.getId(), id -> new AtomicInteger());
+            maxInFlight.accumulateAndGet(count.incrementAndGet(), Math::max);
+            received.computeIfAbsent(session.getId(), id -> new CopyOnWriteArrayList<>()).add(invocation.getArgument(1));
+            count.decrementAndGet();
+            return true;
+        }).when(outbound).send(any(), any(), anyString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        fanout.shutdown();
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    private SharedFrame frame(int n) {
+        return new SharedFrame(WebSocketMessage.system("lobby", "m" + n), "SYSTEM", encodes, new LongAdder());
+    }
+
+    private long delivered() {
+        return ((Number) fanout.getStats().get("delivered")).longValue()
+            + ((Number) fanout.getStats().get("rejected")).longValue();
+    }
+
+    private void awaitDelivered(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (delivered() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void keepsPerSessionOrderAcrossLanes() throws InterruptedException {
+        start("parallel", 4);
+        List<WebSocketSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            sessions.add(session("s" + i));
+        }
+
+        List<SharedFrame> frames = new ArrayList<>();
+        for (int n = 0; n < 100; n++) {
+            SharedFrame frame = frame(n);
+            frames.add(frame);
+            // Mix single sends in with fan-outs; both must keep their order
+            if (n % 10 == 0) {
+                sessions.forEach(session -> fanout.send(session, frame));
+            } else {
+                fanout.fanout(sessions, frame);
+            }
+        }
+        awaitDelivered(50L * 100);
+
+        assertThat(maxInFlight.get()).isEqualTo(1);
+        for (WebSocketSession session : sessions) {
+            List<org.springframework.web.socket.WebSocketMessage<?>> got = received.get(session.getId());
+            assertThat(got).hasSize(frames.size());
+            for (int n = 0; n < frames.size(); n++) {
+                assertThat(got.get(n)).isSameAs(frames.get(n).forCodec(WebSocketCodec.JSON));
+            }
+        }
+    }
+
+    @Test
+    void encodesEachFrameOncePerCodec() throws InterruptedException {
+        start("parallel", 8);
+        List<WebSocketSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            WebSocketSession session = session("s" + i);
+            if (i % 2 == 0) {
+                when(session.getAcceptedProtocol()).thenReturn(WebSocketCodec.SMILE.getSubprotocol());
+            }
+            sessions.add(session);
+        }
+
+        fanout.fanout(sessions, frame(1));
+        awaitDelivered(200);
+
+        // Every call to the codec is counted, including any lost to a race
+        assertThat(encodes.sum()).isEqualTo(2);
+    }
+
+    @Test
+    void countsClosedAndRejectedRecipients() {
+        start("serial", 1);
+        WebSocketSession open = session("open");
+        WebSocketSession closed = session("closed");
+        when(closed.isOpen()).thenReturn(false);
+        WebSocketSession full = session("full");
+        doAnswer(invocation -> !"full".equals(((WebSocketSession) invocation.getArgument(0)).getId()))
+            .when(outbound).send(any(), any(), anyString());
+
+        fanout.fanout(List.of(open, closed, full), frame(1));
+
+        // Serial mode queues on the calling thread
+        assertThat(fanout.getStats()).containsEntry("delivered", 1L).containsEntry("rejected", 1L)
+            .containsEntry("fanouts", 1L);
+    }
+
+    @Test
+    void everySmileRecipientReceivesTheWholeFrame() throws Exception {
+        start("parallel", 4);
+        Map<String, byte[]> bytes = new ConcurrentHashMap<>();
+        // Read each payload the way the container does, consuming the buffer
+        doAnswer(invocation -> {
+            WebSocketSession session = invocation.getArgument(0);
+            ByteBuffer payload = ((BinaryMessage) invocation.getArgument(1)).getPayload();
+            byte[] read = new byte[payload.remaining()];
+            payload.get(read);
+            bytes.put(session.getId(), read);
+            return true;
+        }).when(outbound).send(any(), any(), anyString());
+
+        List<WebSocketSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            WebSocketSession session = session("s" + i);
+            when(session.getAcceptedProtocol()).thenReturn(WebSocketCodec.SMILE.getSubprotocol());
+            sessions.add(session);
+        }
+        SharedFrame frame = frame(1);
+
+        fanout.fanout(sessions, frame);
+        awaitDelivered(sessions.size());
+
+        byte[] expected = WebSocketCodec.SMILE.getMapper().writeValueAsBytes(frame.getMessage());
+        assertThat(bytes).hasSize(sessions.size());
+        assertThat(bytes.values()).allSatisfy(received -> assertThat(received).isEqualTo(expected));
+    }
+}
@@ -0,0 +1,137 @@
+package omgplatform.server.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LastLoginServiceTest {
+
+    private static final OffsetDateTime T1 = OffsetDateTime.of(2026, 10, 16, 9, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime T2 = T1.plusMinutes(1);
+    private static final OffsetDateTime T3 = T1.plusMinutes(2);
+
+    /**
+     * Records each UPDATE as a map of user id to timestamp, optionally failing.
+     */
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+
+        final List<Map<Long, OffsetDateTime>> statements = new ArrayList<>();
+        Runnable beforeFailure;
+        int failuresLeft;
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                if (beforeFailure != null) {
+                    beforeFailure.run();
+                }
+                throw new DataAccessResourceFailureException("database down");
+            }
+
+            Map<Long, OffsetDateTime> rows = new LinkedHashMap<>();
+            for (int i = 0; i < args.length; i += 2) {
+                rows.put((Long) args[i], (OffsetDateTime) args[i + 1]);
+            }
+            statements.add(rows);
+            return rows.size();
+        }
+    }
+
+    private final RecordingJdbcTemplate jdbc = new RecordingJdbcTemplate();
+    private final LastLoginService lastLogin = new LastLoginService(jdbc);
+
+    private void start(boolean enabled, int batchSize) {
+        ReflectionTestUtils.setField(lastLogin, "enabled", enabled);
+        // Long enough that only the test flushes
+        ReflectionTestUtils.setField(lastLogin, "flushIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(lastLogin, "batchSize", batchSize);
+        lastLogin.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        lastLogin.shutdown();
+    }
+
+    private void flush() {
+        ReflectionTestUtils.invokeMethod(lastLogin, "flush");
+    }
+
+    @Test
+    void keepsOnlyTheLatestLoginPerUser() {
+        start(true, 500);
+        lastLogin.record(1L, T1);
+        lastLogin.record(1L, T3);
+        lastLogin.record(1L, T2);
+        lastLogin.record(2L, T1);
+
+        flush();
+
+        assertThat(jdbc.statements).containsExactly(Map.of(1L, T3, 2L, T1));
+        assertThat(lastLogin.getStats()).containsEntry("coalesced", 2L).containsEntry("depth", 0);
+    }
+
+    @Test
+    void splitsLargeFlushesIntoBatches() {
+        start(true, 2);
+        for (long id = 1; id <= 5; id++) {
+            lastLogin.record(id, T1);
+        }
+
+        flush();
+
+        assertThat(jdbc.statements).hasSize(3);
+        assertThat(jdbc.statements).allSatisfy(rows -> assertThat(rows).hasSizeLessThanOrEqualTo(2));
+        assertThat(lastLogin.getStats()).containsEntry("written", 5L);
+    }
+
+    @Test
+    void failedFlushIsRetriedWithoutOverwritingNewerLogins() {
+        start(true, 500);
+        lastLogin.record(1L, T1);
+        lastLogin.record(2L, T1);
+
+        // User 1 logs in again while the failing write is in flight
+        jdbc.failuresLeft = 1;
+        jdbc.beforeFailure = () -> lastLogin.record(1L, T2);
+        flush();
+
+        assertThat(jdbc.statements).isEmpty();
+        assertThat(lastLogin.getStats()).containsEntry("failedFlushes", 1L).containsEntry("depth", 2);
+
+        flush();
+
+        assertThat(jdbc.statements).containsExactly(Map.of(1L, T2, 2L, T1));
+    }
+
+    @Test
+    void shutdownWritesWhatIsStillBuffered() {
+        start(true, 500);
+        lastLogin.record(1L, T1);
+
+        lastLogin.shutdown();
+
+        assertThat(jdbc.statements).containsExactly(Map.of(1L, T1));
+    }
+
+    @Test
+    void disabledWritesEachLoginImmediately() {
+        start(false, 500);
+        lastLogin.record(1L, T1);
+        lastLogin.record(1L, T2);
+
+        assertThat(jdbc.statements).containsExactly(Map.of(1L, T1), Map.of(1L, T2));
+    }
+}
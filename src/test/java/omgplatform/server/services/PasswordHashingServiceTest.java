@@ -0,0 +1,92 @@
+package omgplatform.server.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHashingServiceTest {
+
+    private final BCryptPasswordEncoder encoder = mock(BCryptPasswordEncoder.class);
+    private final PasswordHashingService hashing = new PasswordHashingService(encoder);
+
+    // Hashes running at once, and the most seen
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    private void start(int threads, int bulkThreads) {
+        ReflectionTestUtils.setField(hashing, "threads", threads);
+        ReflectionTestUtils.setField(hashing, "queueCapacity", 64);
+        ReflectionTestUtils.setField(hashing, "retryAfterSeconds", 1);
+        ReflectionTestUtils.setField(hashing, "bulkThreads", bulkThreads);
+        hashing.init();
+
+        when(encoder.encode(anyString())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(2);
+            running.decrementAndGet();
+            return "hash:" + invocation.getArgument(0);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashing.shutdown();
+    }
+
+    private static List<String> passwords(String prefix, int count) {
+        List<String> passwords = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            passwords.add(prefix + i);
+        }
+        return passwords;
+    }
+
+    @Test
+    void returnsHashesInRequestOrder() {
+        start(4, 0);
+
+        assertThat(hashing.encodeAll(passwords("p", 20)))
+            .containsExactlyElementsOf(passwords("hash:p", 20));
+    }
+
+    @Test
+    void concurrentBulkJobsNeverTakeTheWholePool() throws Exception {
+        start(4, 0);
+        ExecutorService jobs = Executors.newFixedThreadPool(3);
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int job = 0; job < 3; job++) {
+            String prefix = "job" + job + "-";
+            results.add(jobs.submit(() -> hashing.encodeAll(passwords(prefix, 30))));
+        }
+        for (Future<List<String>> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).hasSize(30);
+        }
+        jobs.shutdown();
+
+        // Half of the 4 threads by default
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void bulkLimitIsKeptBelowThePoolSize() {
+        start(2, 8);
+
+        hashing.encodeAll(passwords("p", 20));
+
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,120 @@
+package omgplatform.server.services;
+
+import omgplatform.server.dto.PresenceDelta;
+import omgplatform.server.dto.PresencePage;
+import omgplatform.server.dto.PresenceUser;
+import omgplatform.server.dto.SessionPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PresenceServiceTest {
+
+    private static final SessionPrincipal ALICE = new SessionPrincipal(1L, "alice");
+    private static final SessionPrincipal BOB = new SessionPrincipal(2L, "bob");
+
+    private PresenceService presence;
+    private final List<PresenceDelta> deltas = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // The scheduler is not started; deltas are flushed by hand
+        presence = new PresenceService();
+        presence.subscribe(deltas::add);
+    }
+
+    private void flush() {
+        ReflectionTestUtils.invokeMethod(presence, "flush");
+    }
+
+    private static List<String> names(List<PresenceUser> users) {
+        return users.stream().map(PresenceUser::getUsername).toList();
+    }
+
+    @Test
+    void coalescesJoinsIntoOneDelta() {
+        presence.connected(ALICE);
+        presence.connected(BOB);
+        flush();
+
+        assertThat(deltas).hasSize(1);
+        assertThat(names(deltas.get(0).getJoined())).containsExactlyInAnyOrder("alice", "bob");
+        assertThat(deltas.get(0).getLeft()).isEmpty();
+        assertThat(deltas.get(0).getOnline()).isEqualTo(2);
+    }
+
+    @Test
+    void leavingAndRejoiningWithinAnIntervalCancelsOut() {
+        presence.connected(ALICE);
+        flush();
+        deltas.clear();
+
+        presence.disconnected(ALICE);
+        presence.connected(ALICE);
+        flush();
+
+        assertThat(deltas).isEmpty();
+        assertThat(presence.getStats()).containsEntry("cancelled", 1L);
+    }
+
+    @Test
+    void joiningAndLeavingWithinAnIntervalCancelsOut() {
+        presence.connected(ALICE);
+        presence.disconnected(ALICE);
+        flush();
+
+        assertThat(deltas).isEmpty();
+        assertThat(presence.getSnapshot(0, 10).getOnline()).isZero();
+    }
+
+    @Test
+    void extraSessionsDoNotChangePresence() {
+        presence.connected(ALICE);
+        presence.connected(ALICE);
+        flush();
+        deltas.clear();
+
+        presence.disconnected(ALICE);
+        flush();
+        assertThat(deltas).isEmpty();
+        assertThat(presence.getSnapshot(0, 10).getUsers().get(0).getSessions()).isEqualTo(1);
+
+        presence.disconnected(ALICE);
+        flush();
+        assertThat(deltas).hasSize(1);
+        assertThat(names(deltas.get(0).getLeft())).containsExactly("alice");
+        assertThat(deltas.get(0).getOnline()).isZero();
+    }
+
+    @Test
+    void disconnectOfAnUntrackedUserIsIgnored() {
+        presence.disconnected(ALICE);
+        presence.connected(new SessionPrincipal(null, "legacy"));
+        flush();
+
+        assertThat(deltas).isEmpty();
+        assertThat(presence.getSnapshot(0, 10).getOnline()).isZero();
+    }
+
+    @Test
+    void snapshotPagesByUserId() {
+        for (long id = 1; id <= 5; id++) {
+            presence.connected(new SessionPrincipal(id, "user" + id));
+        }
+
+        PresencePage first = presence.getSnapshot(0, 2);
+        PresencePage second = presence.getSnapshot(first.getNextAfter(), 2);
+        PresencePage last = presence.getSnapshot(second.getNextAfter(), 2);
+
+        assertThat(names(first.getUsers())).containsExactly("user1", "user2");
+        assertThat(names(second.getUsers())).containsExactly("user3", "user4");
+        assertThat(names(last.getUsers())).containsExactly("user5");
+        assertThat(last.getNextAfter()).isNull();
+        assertThat(first.getOnline()).isEqualTo(5);
+    }
+}
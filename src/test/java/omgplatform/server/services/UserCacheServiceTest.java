@@ -0,0 +1,100 @@
+package omgplatform.server.services;
+
+import omgplatform.server.entities.User;
+import omgplatform.server.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserCacheServiceTest {
+
+    private UserLookupService lookup;
+    private UserRepository repository;
+    private UserCacheService cache;
+
+    @BeforeEach
+    void setUp() {
+        lookup = mock(UserLookupService.class);
+        repository = mock(UserRepository.class);
+        cache = new UserCacheService(lookup, repository);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "negativeTtlSeconds", 5L);
+        cache.init();
+    }
+
+    private static User alice() {
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("alice");
+        user.setPassword("hash");
+        return user;
+    }
+
+    @Test
+    void servesRepeatLookupsFromMemory() {
+        when(lookup.findByUsername("alice")).thenReturn(Optional.of(alice()));
+
+        cache.findByUsername("alice");
+        cache.findByUsername("alice");
+        cache.findById(7L);
+
+        verify(lookup, times(1)).findByUsername("alice");
+        verify(repository, times(0)).findById(7L);
+    }
+
+    @Test
+    void handsOutCopiesThatDoNotChangeTheCache() {
+        when(lookup.findByUsername("alice")).thenReturn(Optional.of(alice()));
+
+        User first = cache.findByUsername("alice").orElseThrow();
+        first.setLastLogin(OffsetDateTime.now());
+        User second = cache.findByUsername("alice").orElseThrow();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getLastLogin()).isNull();
+        assertThat(cache.findById(7L).orElseThrow().getLastLogin()).isNull();
+    }
+
+    @Test
+    void putStoresACopy() {
+        User user = alice();
+        cache.put(user);
+        user.setFullName("changed later");
+
+        assertThat(cache.findByUsername("alice").orElseThrow().getFullName()).isNull();
+    }
+
+    @Test
+    void invalidateDropsBothKeys() {
+        when(lookup.findByUsername("alice")).thenReturn(Optional.of(alice()));
+        when(repository.findById(7L)).thenReturn(Optional.empty());
+        cache.findByUsername("alice");
+
+        cache.invalidate(7L, "alice");
+        when(lookup.findByUsername("alice")).thenReturn(Optional.empty());
+
+        assertThat(cache.findByUsername("alice")).isEmpty();
+        assertThat(cache.findById(7L)).isEmpty();
+    }
+
+    @Test
+    void cachesUnknownUsernames() {
+        when(lookup.findByUsername("nobody")).thenReturn(Optional.empty());
+
+        assertThat(cache.findByUsername("nobody")).isEmpty();
+        assertThat(cache.findByUsername("nobody")).isEmpty();
+
+        verify(lookup, times(1)).findByUsername("nobody");
+    }
+}
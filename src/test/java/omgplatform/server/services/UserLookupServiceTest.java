@@ -0,0 +1,155 @@
+package omgplatform.server.services;
+
+import omgplatform.server.entities.User;
+import omgplatform.server.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserLookupServiceTest {
+
+    private final UserRepository repository = mock(UserRepository.class);
+    private final UserLookupService lookup = new UserLookupService(repository);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private void start(boolean enabled, long windowMs, int maxBatch) {
+        ReflectionTestUtils.setField(lookup, "enabled", enabled);
+        ReflectionTestUtils.setField(lookup, "windowMs", windowMs);
+        ReflectionTestUtils.setField(lookup, "maxBatch", maxBatch);
+        lookup.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        lookup.shutdown();
+        callers.shutdownNow();
+    }
+
+    private static User user(long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setPassword("hash");
+        return user;
+    }
+
+    private long stat(String name) {
+        return ((Number) lookup.getStats().get(name)).longValue();
+    }
+
+    /**
+     * Block the query until the given number of lookups have joined.
+     */
+    private void awaitLookups(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (stat("lookups") < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void concurrentLookupsForOneUsernameShareOneQuery() throws Exception {
+        start(true, 1, 100);
+        int callerCount = 20;
+        User alice = user(1L, "alice");
+        when(repository.findByUsername("alice")).thenAnswer(invocation -> {
+            awaitLookups(callerCount);
+            return Optional.of(alice);
+        });
+
+        List<Future<Optional<User>>> results = new ArrayList<>();
+        for (int i = 0; i < callerCount; i++) {
+            results.add(callers.submit(() -> lookup.findByUsername("alice")));
+        }
+        for (Future<Optional<User>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).contains(alice);
+        }
+
+        verify(repository, times(1)).findByUsername("alice");
+        assertThat(stat("coalesced")).isEqualTo(callerCount - 1);
+    }
+
+    @Test
+    void differentUsernamesInOneWindowShareOneInQuery() throws Exception {
+        start(true, 200, 100);
+        when(repository.findByUsernameIn(any())).thenAnswer(invocation -> {
+            Collection<String> usernames = invocation.getArgument(0);
+            return usernames.stream()
+                .filter(name -> !name.equals("nobody"))
+                .map(name -> user(name.hashCode(), name))
+                .toList();
+        });
+
+        Future<Optional<User>> alice = callers.submit(() -> lookup.findByUsername("alice"));
+        Future<Optional<User>> bob = callers.submit(() -> lookup.findByUsername("bob"));
+        Future<Optional<User>> nobody = callers.submit(() -> lookup.findByUsername("nobody"));
+
+        assertThat(alice.get(5, TimeUnit.SECONDS)).map(User::getUsername).contains("alice");
+        assertThat(bob.get(5, TimeUnit.SECONDS)).map(User::getUsername).contains("bob");
+        assertThat(nobody.get(5, TimeUnit.SECONDS)).isEmpty();
+
+        verify(repository, times(1)).findByUsernameIn(any());
+        verify(repository, never()).findByUsername(any());
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaitingForTheWindow() throws Exception {
+        start(true, 60_000, 2);
+        when(repository.findByUsernameIn(any())).thenAnswer(invocation -> {
+            Collection<String> usernames = invocation.getArgument(0);
+            return usernames.stream().map(name -> user(name.hashCode(), name)).toList();
+        });
+
+        Future<Optional<User>> alice = callers.submit(() -> lookup.findByUsername("alice"));
+        Future<Optional<User>> bob = callers.submit(() -> lookup.findByUsername("bob"));
+
+        assertThat(alice.get(5, TimeUnit.SECONDS)).isPresent();
+        assertThat(bob.get(5, TimeUnit.SECONDS)).isPresent();
+    }
+
+    @Test
+    void failureReachesEveryWaiterAndIsNotCached() {
+        start(true, 1, 100);
+        when(repository.findByUsername("alice"))
+            .thenThrow(new IllegalStateException("database down"))
+            .thenReturn(Optional.of(user(1L, "alice")));
+
+        assertThatThrownBy(() -> lookup.findByUsername("alice"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("database down");
+
+        // The failed query is not remembered, so the next lookup tries again
+        assertThat(lookup.findByUsername("alice")).isPresent();
+        verify(repository, times(2)).findByUsername("alice");
+    }
+
+    @Test
+    void disabledGoesStraightToTheRepository() {
+        start(false, 1, 100);
+        when(repository.findByUsername("alice")).thenReturn(Optional.of(user(1L, "alice")));
+
+        assertThat(lookup.findByUsername("alice")).isPresent();
+        assertThat(lookup.findByUsername("alice")).isPresent();
+
+        verify(repository, times(2)).findByUsername("alice");
+        assertThat(stat("lookups")).isZero();
+    }
+}
@@ -0,0 +1,76 @@
+package omgplatform.server.services;
+
+import omgplatform.server.entities.User;
+import omgplatform.server.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.BatchUpdateException;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+    private UserRepository repository;
+    private UserCacheService cache;
+    private UserService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(UserRepository.class);
+        cache = mock(UserCacheService.class);
+        service = new UserService(repository, mock(PasswordHashingService.class), cache,
+                mock(UsernameFilterService.class), mock(PlatformTransactionManager.class), mock(LastLoginService.class));
+    }
+
+    @Test
+    void removeUserInvalidatesUsernameEvenWhenOnlyTheIdIsKnown() {
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("alice");
+        when(repository.findById(7L)).thenReturn(Optional.of(user));
+
+        service.removeUser(7L);
+
+        var order = inOrder(repository, cache);
+        order.verify(repository).findById(7L);
+        order.verify(repository).deleteById(7L);
+        order.verify(cache).invalidate(7L, "alice");
+    }
+
+    private static DataIntegrityViolationException violation(String sqlState, String constraint) {
+        PSQLException cause = new PSQLException(new ServerErrorMessage(
+                "SERROR\0C" + sqlState + "\0Mviolation\0" + (constraint != null ? "n" + constraint + "\0" : "")));
+        return new DataIntegrityViolationException("could not execute statement", cause);
+    }
+
+    @Test
+    void usernameConstraintIsReportedAsTaken() {
+        assertThat(UserService.isUsernameTaken(violation("23505", "users_username_key"))).isTrue();
+    }
+
+    @Test
+    void otherViolationsAreNotReportedAsTaken() {
+        // NOT NULL, value too long, and a unique constraint on another column
+        assertThat(UserService.isUsernameTaken(violation("23502", null))).isFalse();
+        assertThat(UserService.isUsernameTaken(violation("22001", null))).isFalse();
+        assertThat(UserService.isUsernameTaken(violation("23505", "users_pkey"))).isFalse();
+    }
+
+    @Test
+    void batchedViolationsAreFoundThroughTheNextException() {
+        BatchUpdateException batch = new BatchUpdateException();
+        batch.setNextException(new PSQLException(new ServerErrorMessage(
+                "SERROR\0C23505\0Mviolation\0nusers_username_key\0")));
+
+        assertThat(UserService.isUsernameTaken(new DataIntegrityViolationException("batch", batch))).isTrue();
+    }
+}
@@ -0,0 +1,61 @@
+package omgplatform.server.services;
+
+import omgplatform.server.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UsernameFilterServiceTest {
+
+    private final UserRepository repository = mock(UserRepository.class);
+    private final UsernameFilterService filter = new UsernameFilterService(repository, mock(PlatformTransactionManager.class));
+
+    private void start(String clusterBus) {
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "clusterBus", clusterBus);
+        ReflectionTestUtils.setField(filter, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(filter, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(filter, "rebuildRatio", 0.1);
+        when(repository.count()).thenReturn(1L);
+        when(repository.streamAllUsernames()).thenAnswer(invocation -> Stream.of("alice"));
+        filter.onApplicationReady();
+    }
+
+    private void awaitReady() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Boolean.TRUE.equals(filter.getStats().get("ready")) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void answersDefinitelyFreeOnASingleNode() throws InterruptedException {
+        start("in-process");
+        awaitReady();
+
+        assertThat(filter.mightExist("alice")).isTrue();
+        assertThat(filter.mightExist("bob")).isFalse();
+
+        filter.add("bob");
+        assertThat(filter.mightExist("bob")).isTrue();
+    }
+
+    @Test
+    void isNeverBuiltWhenOtherNodesShareTheDatabase() {
+        start("loopback");
+
+        // Registrations on other nodes are not seen, so nothing is reported as definitely free
+        assertThat(filter.mightExist("bob")).isTrue();
+        assertThat(filter.getStats()).containsEntry("enabled", false).containsEntry("ready", false);
+        verify(repository, never()).streamAllUsernames();
+    }
+}
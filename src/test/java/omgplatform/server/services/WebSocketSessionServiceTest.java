@@ -0,0 +1,51 @@
+package omgplatform.server.services;
+
+import omgplatform.server.dto.PresenceDelta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WebSocketSessionServiceTest {
+
+    private TopicService topicService;
+    private ClusterBus clusterBus;
+    private FanoutService fanoutService;
+    private PresenceService presenceService;
+    private WebSocketSessionService sessionService;
+
+    @BeforeEach
+    void setUp() {
+        topicService = new TopicService();
+        ReplayService replayService = mock(ReplayService.class);
+        when(replayService.getEpoch()).thenReturn("epoch");
+        clusterBus = mock(ClusterBus.class);
+        fanoutService = mock(FanoutService.class);
+        presenceService = mock(PresenceService.class);
+        sessionService = new WebSocketSessionService(topicService, fanoutService,
+                clusterBus, replayService, presenceService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void presenceDeltasStayOnThisNode() {
+        sessionService.subscribeToCluster();
+        ArgumentCaptor<Consumer<PresenceDelta>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(presenceService).subscribe(listener.capture());
+
+        listener.getValue().accept(new PresenceDelta(List.of(), List.of(), 0));
+
+        verify(fanoutService).fanout(anyCollection(), any());
+        verify(clusterBus, never()).publish(any(), any());
+    }
+}
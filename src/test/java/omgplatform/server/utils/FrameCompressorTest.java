@@ -0,0 +1,94 @@
+package omgplatform.server.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FrameCompressorTest {
+
+    private static final String JSON = "{\"type\":\"MESSAGE\",\"topic\":\"lobby\",\"payload\":\"" + "hello ".repeat(100) + "\"}";
+
+    /**
+     * Client side of the documented wire format: append the sync trailer and raw-inflate.
+     *
+     * Reads a duplicate so the frame's own payload is left unconsumed.
+     */
+    private static String inflate(Inflater inflater, WebSocketMessage<?> frame) throws DataFormatException {
+        ByteBuffer payload = ((BinaryMessage) frame).getPayload().duplicate();
+        byte[] input = new byte[payload.remaining() + 4];
+        payload.get(input, 0, payload.remaining());
+        input[input.length - 2] = (byte) 0xFF;
+        input[input.length - 1] = (byte) 0xFF;
+
+        inflater.setInput(input);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int count;
+        while ((count = inflater.inflate(buffer)) > 0) {
+            out.write(buffer, 0, count);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void compressesLargeTextFramesInTheDocumentedFormat() throws DataFormatException {
+        FrameCompressor compressor = new FrameCompressor(6, 256, true, new FrameCompressor.Stats());
+        Inflater inflater = new Inflater(true);
+
+        WebSocketMessage<?> first = compressor.compress(new TextMessage(JSON));
+        WebSocketMessage<?> second = compressor.compress(new TextMessage(JSON));
+
+        assertThat(first).isInstanceOf(BinaryMessage.class);
+        assertThat(first.getPayloadLength()).isLessThan(JSON.length());
+        assertThat(inflate(inflater, first)).isEqualTo(JSON);
+        // With context takeover the repeat refers back to the first frame
+        assertThat(second.getPayloadLength()).isLessThan(first.getPayloadLength());
+        assertThat(inflate(inflater, second)).isEqualTo(JSON);
+        compressor.close();
+    }
+
+    @Test
+    void framesInflateIndependentlyWithoutContextTakeover() throws DataFormatException {
+        FrameCompressor compressor = new FrameCompressor(6, 256, false, new FrameCompressor.Stats());
+
+        compressor.compress(new TextMessage(JSON));
+        WebSocketMessage<?> second = compressor.compress(new TextMessage(JSON));
+
+        assertThat(inflate(new Inflater(true), second)).isEqualTo(JSON);
+        compressor.close();
+    }
+
+    @Test
+    void leavesSmallAndBinaryFramesAlone() {
+        FrameCompressor compressor = new FrameCompressor(6, 256, true, new FrameCompressor.Stats());
+        TextMessage small = new TextMessage("{\"type\":\"PING\"}");
+        BinaryMessage binary = new BinaryMessage(new byte[1024]);
+
+        assertThat(compressor.compress(small)).isSameAs(small);
+        assertThat(compressor.compress(binary)).isSameAs(binary);
+        compressor.close();
+    }
+
+    @Test
+    void customSubprotocolSelectsJsonWithAppLevelCompression() {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getAcceptedProtocol()).thenReturn("omg.v1.json+x-omg-deflate");
+
+        assertThat(WebSocketCodec.forSession(session)).isEqualTo(WebSocketCodec.JSON);
+        assertThat(WebSocketCodec.isDeflate(session)).isTrue();
+        assertThat(WebSocketCodec.subprotocols(false)).doesNotContain("omg.v1.json+x-omg-deflate");
+        assertThat(WebSocketCodec.subprotocols(true)).contains("omg.v1.json+x-omg-deflate");
+    }
+}
@@ -0,0 +1,170 @@
+package omgplatform.server.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboundSessionQueueTest {
+
+    private WebSocketSession session;
+    private ExecutorService writers;
+    private ScheduledExecutorService scheduler;
+
+    // Payloads in the order the session received them
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+
+    // Sends in progress at once, and the most seen
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sent.add(((TextMessage) invocation.getArgument(0)).getPayload());
+            Thread.sleep(0, 1000);
+            inFlight.decrementAndGet();
+            return null;
+        }).when(session).sendMessage(any());
+        writers = Executors.newCachedThreadPool();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writers.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    private void awaitSent(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sent.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void sendsEachProducersFramesInOrderOneAtATime() throws InterruptedException {
+        OutboundSessionQueue queue = new OutboundSessionQueue(session, writers, 10_000, 1 << 20, null, 0, 0, null);
+        int producers = 4;
+        int perProducer = 200;
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    queue.enqueue(new TextMessage(producer + ":" + i));
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        awaitSent(producers * perProducer);
+
+        assertThat(sent).hasSize(producers * perProducer);
+        assertThat(maxInFlight.get()).isEqualTo(1);
+        Map<String, Integer> lastByProducer = new ConcurrentHashMap<>();
+        for (String payload : sent) {
+            String[] parts = payload.split(":");
+            int index = Integer.parseInt(parts[1]);
+            assertThat(index).isGreaterThan(lastByProducer.getOrDefault(parts[0], -1));
+            lastByProducer.put(parts[0], index);
+        }
+    }
+
+    @Test
+    void closesSlowConsumerPastTheBufferLimit() throws Exception {
+        // Writers never run, so nothing drains
+        OutboundSessionQueue queue = new OutboundSessionQueue(session, task -> { }, 10_000, 10, null, 0, 0, null);
+
+        assertThat(queue.enqueue(new TextMessage("12345"))).isTrue();
+        assertThat(queue.enqueue(new TextMessage("12345"))).isTrue();
+        assertThat(queue.enqueue(new TextMessage("1"))).isFalse();
+
+        verify(session).close(any(CloseStatus.class));
+        assertThat(queue.isOpen()).isFalse();
+        assertThat(queue.getBufferSize()).isZero();
+    }
+
+    @Test
+    void batchesFramesQueuedBehindABusyWriter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> received = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            received.add(((WebSocketMessage<?>) invocation.getArgument(0)).getPayload().toString());
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(session).sendMessage(any());
+        OutboundSessionQueue queue = new OutboundSessionQueue(session, writers, 10_000, 1 << 20, scheduler, 1000, 1 << 16, null);
+
+        // The first frame goes straight out and holds the writer
+        queue.enqueueBatched(new TextMessage("{\"n\":1}"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        queue.enqueueBatched(new TextMessage("{\"n\":2}"));
+        queue.enqueueBatched(new TextMessage("{\"n\":3}"));
+        release.countDown();
+
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(new ArrayList<>(received)).containsExactly("{\"n\":1}", "[{\"n\":2},{\"n\":3}]");
+    }
+
+    @Test
+    void releasesTheEnqueuedLengthOfConsumedBinaryFrames() throws Exception {
+        // The container consumes a binary payload while sending it
+        doAnswer(invocation -> {
+            ByteBuffer payload = ((BinaryMessage) invocation.getArgument(0)).getPayload();
+            payload.position(payload.limit());
+            return null;
+        }).when(session).sendMessage(any());
+        OutboundSessionQueue queue = new OutboundSessionQueue(session, Runnable::run, 10_000, 25, null, 0, 0, null);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(queue.enqueue(new BinaryMessage(new byte[10]))).isTrue();
+        }
+
+        assertThat(queue.getBufferSize()).isZero();
+        assertThat(queue.isOpen()).isTrue();
+    }
+}
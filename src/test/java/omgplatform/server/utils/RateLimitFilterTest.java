@@ -0,0 +1,114 @@
+package omgplatform.server.utils;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private static final String BODY = "{\"username\":\"alice\",\"password\":\"secret\"}";
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "loginIpLimit", 100);
+        ReflectionTestUtils.setField(filter, "loginUsernameLimit", 2);
+        ReflectionTestUtils.setField(filter, "registerIpLimit", 100);
+        ReflectionTestUtils.setField(filter, "registerUsernameLimit", 2);
+        filter.init();
+    }
+
+    private static MockHttpServletRequest login(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users/login");
+        request.setServletPath("/users/login");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    @Test
+    void passesTheBufferedBodyOn() throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(login(BODY), new MockHttpServletResponse(), (req, res) ->
+                seen.set(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8)));
+
+        assertThat(seen.get()).isEqualTo(BODY);
+    }
+
+    @Test
+    void readListenerReceivesTheBufferedBody() throws Exception {
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+
+        filter.doFilter(login(BODY), new MockHttpServletResponse(), (req, res) -> {
+            ServletInputStream in = req.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[8];
+                    int n;
+                    while (in.isReady() && (n = in.read(buffer)) != -1) {
+                        read.write(buffer, 0, n);
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    throw new AssertionError(t);
+                }
+            });
+        });
+
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(allRead).isTrue();
+    }
+
+    @Test
+    void rejectsByUsernameWithRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(login(BODY), response, (req, res) -> { });
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean reached = new AtomicBoolean();
+        filter.doFilter(login(BODY.replace("alice", "ALICE")), response, (req, res) -> reached.set(true));
+
+        assertThat(reached).isFalse();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isNotNull();
+    }
+
+    @Test
+    void rejectsOversizedBodies() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean reached = new AtomicBoolean();
+
+        filter.doFilter(login("x".repeat(9000)), response, (req, res) -> reached.set(true));
+
+        assertThat(reached).isFalse();
+        assertThat(response.getStatus()).isEqualTo(413);
+    }
+}
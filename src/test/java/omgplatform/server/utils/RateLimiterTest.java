@@ -0,0 +1,64 @@
+package omgplatform.server.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    @Test
+    void allowsBurstThenRejectsWithWait() {
+        RateLimiter limiter = new RateLimiter(5);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("1.2.3.4")).isZero();
+        }
+        long wait = limiter.tryAcquire("1.2.3.4");
+
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(12));
+        assertThat(limiter.getStats()).containsEntry("allowed", 5L).containsEntry("rejected", 1L);
+    }
+
+    @Test
+    void limitsKeysIndependently() {
+        RateLimiter limiter = new RateLimiter(1);
+
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isPositive();
+        assertThat(limiter.tryAcquire("bob")).isZero();
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws InterruptedException {
+        int limit = 20;
+        RateLimiter limiter = new RateLimiter(limit);
+        AtomicInteger allowed = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < 200; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (limiter.tryAcquire("shared") == 0) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // The test runs far faster than one emission interval (3s)
+        assertThat(allowed.get()).isEqualTo(limit);
+    }
+}
@@ -0,0 +1,95 @@
+package omgplatform.server.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplayRingTest {
+
+    private static final long BASE = 1000;
+
+    private static SharedFrame frame(long seq) {
+        return new SharedFrame("m" + seq, "MESSAGE", new LongAdder(), new LongAdder());
+    }
+
+    private static long publish(ReplayRing ring, int size) {
+        long seq = ring.next();
+        ring.add(seq, frame(seq), size);
+        return seq;
+    }
+
+    private static List<Object> messages(List<SharedFrame> frames) {
+        return frames.stream().map(SharedFrame::getMessage).toList();
+    }
+
+    @Test
+    void issuesSequenceNumbersFromTheBase() {
+        ReplayRing ring = new ReplayRing(8, BASE, Long.MAX_VALUE);
+
+        assertThat(ring.next()).isEqualTo(BASE + 1);
+        assertThat(ring.next()).isEqualTo(BASE + 2);
+        assertThat(ring.getHead()).isEqualTo(BASE + 2);
+    }
+
+    @Test
+    void replaysEverythingAfterTheLastSequence() {
+        ReplayRing ring = new ReplayRing(8, BASE, Long.MAX_VALUE);
+        for (int i = 0; i < 5; i++) {
+            publish(ring, 10);
+        }
+
+        assertThat(messages(ring.since(BASE))).containsExactly("m1001", "m1002", "m1003", "m1004", "m1005");
+        assertThat(messages(ring.since(BASE + 3))).containsExactly("m1004", "m1005");
+        assertThat(ring.since(BASE + 5)).isEmpty();
+        assertThat(ring.since(BASE + 6)).isNull();
+    }
+
+    @Test
+    void requiresSnapshotOnceTheGapHasWrapped() {
+        ReplayRing ring = new ReplayRing(4, BASE, Long.MAX_VALUE);
+        for (int i = 0; i < 6; i++) {
+            publish(ring, 10);
+        }
+
+        // 1003..1006 are held; resuming after 1002 is the oldest possible point
+        assertThat(messages(ring.since(BASE + 2))).containsExactly("m1003", "m1004", "m1005", "m1006");
+        assertThat(ring.since(BASE + 1)).isNull();
+        assertThat(ring.getBytes()).isEqualTo(40);
+    }
+
+    @Test
+    void dropsOldestFramesOverTheByteLimit() {
+        ReplayRing ring = new ReplayRing(64, BASE, 100);
+        for (int i = 0; i < 5; i++) {
+            publish(ring, 30);
+        }
+
+        // Only the last three fit in 100 bytes
+        assertThat(ring.getBytes()).isEqualTo(90);
+        assertThat(messages(ring.since(BASE + 2))).containsExactly("m1003", "m1004", "m1005");
+        assertThat(ring.since(BASE + 1)).isNull();
+    }
+
+    @Test
+    void keepsTheNewestFrameEvenIfItIsOverTheLimit() {
+        ReplayRing ring = new ReplayRing(8, BASE, 100);
+        publish(ring, 10);
+        publish(ring, 500);
+
+        assertThat(ring.getBytes()).isEqualTo(500);
+        assertThat(messages(ring.since(BASE + 1))).containsExactly("m1002");
+    }
+
+    @Test
+    void skipsSequencesThatWereNeverStored() {
+        ReplayRing ring = new ReplayRing(8, BASE, Long.MAX_VALUE);
+        publish(ring, 10);
+        ring.next();
+        publish(ring, 10);
+
+        assertThat(messages(ring.since(BASE))).containsExactly("m1001", "m1003");
+    }
+}
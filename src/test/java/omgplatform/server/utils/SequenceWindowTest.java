@@ -0,0 +1,56 @@
+package omgplatform.server.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SequenceWindowTest {
+
+    @Test
+    void acceptsInOrderSequencesOnce() {
+        SequenceWindow window = new SequenceWindow(64);
+
+        assertThat(window.accept(1)).isTrue();
+        assertThat(window.accept(2)).isTrue();
+        assertThat(window.accept(2)).isFalse();
+        assertThat(window.accept(1)).isFalse();
+        assertThat(window.getHighest()).isEqualTo(2);
+    }
+
+    @Test
+    void acceptsReorderedSequences() {
+        SequenceWindow window = new SequenceWindow(64);
+
+        assertThat(window.accept(3)).isTrue();
+        assertThat(window.accept(1)).isTrue();
+        assertThat(window.accept(2)).isTrue();
+        assertThat(window.accept(1)).isFalse();
+        assertThat(window.accept(3)).isFalse();
+    }
+
+    @Test
+    void rejectsSequencesBehindTheWindow() {
+        SequenceWindow window = new SequenceWindow(64);
+
+        assertThat(window.accept(100)).isTrue();
+        assertThat(window.accept(37)).isTrue();
+        assertThat(window.accept(36)).isFalse();
+        assertThat(window.accept(0)).isFalse();
+    }
+
+    @Test
+    void clearsSlotsTheWindowSlidesOver() {
+        SequenceWindow window = new SequenceWindow(64);
+
+        assertThat(window.accept(5)).isTrue();
+        // 69 shares 5's slot; 68 is still unseen after the slide
+        assertThat(window.accept(69)).isTrue();
+        assertThat(window.accept(68)).isTrue();
+        assertThat(window.accept(69)).isFalse();
+
+        // A jump past the whole window forgets everything behind it
+        assertThat(window.accept(1000)).isTrue();
+        assertThat(window.accept(999)).isTrue();
+        assertThat(window.accept(1000 - 64)).isFalse();
+    }
+}
@@ -0,0 +1,43 @@
+package omgplatform.server.utils;
+
+import omgplatform.server.dto.WebSocketMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedFrameTest {
+
+    private final LongAdder encodes = new LongAdder();
+    private final SharedFrame frame = new SharedFrame(WebSocketMessage.system("lobby", "hello"), "SYSTEM", encodes, new LongAdder());
+
+    /**
+     * Read a payload the way the container does, leaving the buffer consumed.
+     */
+    private static byte[] consume(org.springframework.web.socket.WebSocketMessage<?> message) {
+        ByteBuffer payload = ((BinaryMessage) message).getPayload();
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        return bytes;
+    }
+
+    @Test
+    void everySmileRecipientGetsTheFullPayload() throws Exception {
+        byte[] expected = WebSocketCodec.SMILE.getMapper().writeValueAsBytes(frame.getMessage());
+
+        for (int i = 0; i < 3; i++) {
+            org.springframework.web.socket.WebSocketMessage<?> sent = frame.forCodec(WebSocketCodec.SMILE);
+            assertThat(sent.getPayloadLength()).isEqualTo(expected.length);
+            assertThat(consume(sent)).isEqualTo(expected);
+        }
+        assertThat(encodes.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void textFramesAreSharedAsIs() {
+        assertThat(frame.forCodec(WebSocketCodec.JSON)).isSameAs(frame.forCodec(WebSocketCodec.JSON));
+    }
+}